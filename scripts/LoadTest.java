@@ -0,0 +1,108 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for {@code GET /routing/{origin}/{destination}}.
+ *
+ * Each connection is a virtual thread that sends the next request as soon as
+ * the previous answer arrives, cycling through a fixed mix of short, long,
+ * aliased and unroutable pairs. A warm-up of the same length as the run is
+ * discarded. Prints throughput and latency percentiles.
+ *
+ * <pre>
+ *   java scripts/LoadTest.java http://localhost:8081 [seconds=20] [connections=64]
+ * </pre>
+ */
+public class LoadTest {
+
+    private static final String[] PATHS = {
+            "/routing/CZE/AUT",
+            "/routing/CZE/ITA",
+            "/routing/LSO/TLS",
+            "/routing/cz/Italy",
+            "/routing/JPN/KOR"
+    };
+
+    public static void main(String[] args) throws Exception {
+        var base = args.length > 0 ? args[0] : "http://localhost:8080";
+        var duration = Duration.ofSeconds(args.length > 1 ? Integer.parseInt(args[1]) : 20);
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        var requests = Arrays.stream(PATHS).map(path -> HttpRequest.newBuilder(URI.create(base + path)).build()).toList();
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        run(client, requests, duration, connections);
+        var result = run(client, requests, duration, connections);
+        result.print(base, duration, connections);
+    }
+
+    private static Result run(HttpClient client, List<HttpRequest> requests, Duration duration, int connections)
+            throws Exception {
+        long end = System.nanoTime() + duration.toNanos();
+        var workers = new ArrayList<Future<Result>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                int offset = c;
+                workers.add(executor.submit(() -> {
+                    var result = new Result();
+                    for (int i = offset; System.nanoTime() < end; i++) {
+                        long start = System.nanoTime();
+                        var response = client.send(requests.get(i % requests.size()), HttpResponse.BodyHandlers.ofByteArray());
+                        result.record(System.nanoTime() - start, response.statusCode());
+                    }
+                    return result;
+                }));
+            }
+        }
+        var total = new Result();
+        for (var worker : workers) {
+            total.add(worker.get());
+        }
+        return total;
+    }
+
+    private static final class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            // 400 is the expected answer for the unroutable pair
+            if (status != 200 && status != 400) {
+                errors++;
+            }
+        }
+
+        void add(Result other) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        void print(String base, Duration duration, int connections) {
+            Arrays.sort(latencies, 0, count);
+            System.out.printf("%s  %d connections, %d s%n", base, connections, duration.toSeconds());
+            System.out.printf("  requests  %d (%.0f/s), unexpected status %d%n",
+                    count, count / (double) duration.toSeconds(), errors);
+            System.out.printf("  latency   p50 %d us, p90 %d us, p99 %d us, max %d us%n",
+                    percentile(0.50), percentile(0.90), percentile(0.99), count == 0 ? 0 : latencies[count - 1] / 1000);
+        }
+
+        private long percentile(double p) {
+            return count == 0 ? 0 : latencies[(int) Math.min(count - 1, Math.ceil(p * count) - 1)] / 1000;
+        }
+    }
+}
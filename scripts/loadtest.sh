@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Same route mix against both front ends of one instance: Spring MVC on 8080
+# and the lean JDK HttpServer on 8081 (routing.lean.enabled=true).
+#
+#   mvn -DskipTests package
+#   scripts/loadtest.sh [seconds=20] [connections=64]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUN_SECONDS=${1:-20}
+CONNECTIONS=${2:-64}
+
+java -Drouting.lean.enabled=true -jar target/country-routing-1.0.0.jar > target/loadtest-server.log 2>&1 &
+SERVER=$!
+trap 'kill $SERVER' EXIT
+
+until curl -sf http://localhost:8080/actuator/health/readiness > /dev/null; do
+    sleep 1
+done
+
+for port in 8080 8081; do
+    java scripts/LoadTest.java "http://localhost:$port" "$RUN_SECONDS" "$CONNECTIONS"
+done
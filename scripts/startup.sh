@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Cold start of one build mode: the startup time Spring logs, the time until
+# readiness (first border graph, read from a local snapshot so the network is
+# kept out of the measurement) and the latency of the first route request.
+#
+#   mvn -DskipTests package                  && scripts/startup.sh jvm
+#   mvn -Paot -DskipTests package            && scripts/startup.sh aot
+#   mvn -Pcds -DskipTests package            && scripts/startup.sh cds
+#   mvn -Pnative -DskipTests native:compile  && scripts/startup.sh native
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+MODE=${1:-jvm}
+RUNS=${2:-5}
+JAR=target/country-routing-1.0.0.jar
+SNAPSHOT=target/startup-graph.bin
+LOG=target/startup-$MODE.log
+
+case "$MODE" in
+    jvm)    CMD=(java --enable-preview -jar "$JAR") ;;
+    aot)    CMD=(java --enable-preview -Dspring.aot.enabled=true -jar "$JAR") ;;
+    cds)    CMD=(java --enable-preview -XX:AOTCache=target/app/application.aot -jar target/app/country-routing-1.0.0.jar) ;;
+    native) CMD=(target/country-routing) ;;
+    *)      echo "usage: $0 jvm|aot|cds|native [runs]" >&2; exit 1 ;;
+esac
+
+now_ms() { date +%s%3N; }
+
+start_server() {
+    "${CMD[@]}" --countries.snapshot.path="$SNAPSHOT" > "$LOG" 2>&1 &
+    SERVER=$!
+    until curl -sf http://localhost:8080/actuator/health/readiness > /dev/null; do
+        sleep 0.02
+    done
+}
+
+stop_server() {
+    kill "$SERVER"
+    wait "$SERVER" || true
+}
+
+# The first run against a missing snapshot loads from the URL and writes it; not measured
+if [[ ! -f $SNAPSHOT ]]; then
+    start_server
+    stop_server
+fi
+
+for run in $(seq "$RUNS"); do
+    start=$(now_ms)
+    start_server
+    ready=$(( $(now_ms) - start ))
+    first=$(curl -s -o /dev/null -w '%{time_total}' http://localhost:8080/routing/CZE/ITA)
+    started=$(grep -o 'Started CountryRoutingApplication in [0-9.]* seconds' "$LOG" | grep -o '[0-9.]*' || echo '?')
+    stop_server
+    printf '%-6s run %d: started in %s s, ready after %d ms, first route %s ms\n' \
+        "$MODE" "$run" "$started" "$ready" "$(awk -v s="$first" 'BEGIN { printf "%.1f", s * 1000 }')"
+done
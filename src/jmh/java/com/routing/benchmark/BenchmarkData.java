@@ -0,0 +1,87 @@
+package com.routing.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routing.model.Country;
+import com.routing.service.CountryDataClient;
+import com.routing.service.CountryJsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Offline inputs shared by the benchmarks: the checked-in countries.json
+ * (src/test/resources) and a data client that serves it without any HTTP.
+ */
+final class BenchmarkData {
+
+    static final ObjectMapper OBJECT_MAPPER =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private BenchmarkData() {
+    }
+
+    /** Raw bytes of the countries.json fixture. */
+    static byte[] countriesJson() {
+        try (var in = BenchmarkData.class.getResourceAsStream("/countries.json")) {
+            if (in == null) {
+                throw new IllegalStateException("countries.json fixture not found on the test classpath");
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The fixture parsed the same way the service parses a download. */
+    static List<Country> countries() {
+        try {
+            return new CountryJsonReader(OBJECT_MAPPER.getFactory()).read(new ByteArrayInputStream(countriesJson()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The same countries with the last border of the first country that has one removed. */
+    static List<Country> edited(List<Country> countries) {
+        var edited = new ArrayList<>(countries);
+        for (int i = 0; i < edited.size(); i++) {
+            var country = edited.get(i);
+            if (!country.borders().isEmpty()) {
+                var borders = country.borders().subList(0, country.borders().size() - 1);
+                edited.set(i, new Country(country.cca3(), borders, country.capital(), country.aliases()));
+                return edited;
+            }
+        }
+        throw new IllegalStateException("countries.json fixture has no border to remove");
+    }
+
+    /**
+     * A data client whose conditional fetches alternate between the fixture,
+     * first, and its {@link #edited} copy, so each reload publishes a new snapshot.
+     */
+    static CountryDataClient fixtureClient() {
+        var countries = countries();
+        var edited = edited(countries);
+        return new CountryDataClient(HttpClient.newHttpClient(), OBJECT_MAPPER, "http://localhost/unused", Duration.ofSeconds(2)) {
+            private boolean flip;
+
+            @Override
+            public List<Country> fetch() {
+                return countries;
+            }
+
+            @Override
+            public Optional<List<Country>> fetchIfModified() {
+                flip = !flip;
+                return Optional.of(flip ? countries : edited);
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.routing.benchmark;
+
+import com.routing.graph.BorderGraph;
+import com.routing.graph.GraphUpdate;
+import com.routing.graph.RouteEngine;
+import com.routing.graph.RouteEngineMode;
+import com.routing.model.Country;
+import com.routing.service.CountryGraphService;
+import com.routing.service.RouteCache;
+import com.routing.service.RouteCoalescer;
+import com.routing.service.RouteMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph construction from an already parsed country list: the bare CSR
+ * build, the same graph and engine built from scratch or updated from the
+ * previous snapshot after a one-border edit, and a reload (incremental
+ * update and publish) of alternately edited data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class GraphBuildBenchmark {
+
+    @Param({"bfs", "table"})
+    public String engine;
+
+    private List<Country> countries;
+    private List<Country> edited;
+    private RouteEngineMode mode;
+    private BorderGraph graph;
+    private RouteEngine routeEngine;
+    private CountryGraphService service;
+
+    @Setup
+    public void setUp() throws Exception {
+        countries = BenchmarkData.countries();
+        edited = BenchmarkData.edited(countries);
+        mode = RouteEngineMode.from(engine);
+        graph = BorderGraph.of(countries);
+        routeEngine = mode.create(graph);
+        var routeCache = new RouteCache(0);
+        var routeCoalescer = new RouteCoalescer();
+        service = new CountryGraphService(BenchmarkData.fixtureClient(), routeCache, routeCoalescer,
+                new RouteMetrics(new SimpleMeterRegistry(), routeCache, routeCoalescer), engine, null,
+                100_000, Duration.ofMillis(200), Duration.ofSeconds(1), Duration.ofMinutes(1));
+        // the first reload builds from scratch; the measured ones update
+        service.reload();
+    }
+
+    @Benchmark
+    public BorderGraph buildGraph() {
+        return BorderGraph.of(countries);
+    }
+
+    @Benchmark
+    public RouteEngine rebuildEdited() {
+        return mode.create(BorderGraph.of(edited));
+    }
+
+    @Benchmark
+    public RouteEngine updateEdited() {
+        return mode.update(routeEngine, GraphUpdate.of(graph, edited));
+    }
+
+    @Benchmark
+    public CountryGraphService.ReloadResult reload() throws Exception {
+        return service.reload();
+    }
+}
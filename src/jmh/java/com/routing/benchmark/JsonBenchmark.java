@@ -0,0 +1,80 @@
+package com.routing.benchmark;
+
+import com.routing.graph.BorderGraph;
+import com.routing.model.Country;
+import com.routing.model.RouteResponse;
+import com.routing.service.CountryJsonReader;
+import com.routing.service.RouteJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON on both edges of the service: parsing the countries dataset as the
+ * data client does, and serialising route responses as the controller does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class JsonBenchmark {
+
+    private static final List<String> SHORT_CODES = List.of("CZE", "AUT");
+    private static final List<String> LONG_CODES = List.of(
+            "LSO", "ZAF", "BWA", "ZMB", "COD", "CAF", "SDN", "EGY", "ISR", "JOR",
+            "IRQ", "IRN", "AFG", "CHN", "MMR", "THA", "MYS", "IDN", "TLS");
+
+    private byte[] countriesJson;
+    private CountryJsonReader reader;
+    private RouteJson routeJson;
+
+    @Setup
+    public void setUp() {
+        countriesJson = BenchmarkData.countriesJson();
+        reader = new CountryJsonReader(BenchmarkData.OBJECT_MAPPER.getFactory());
+        routeJson = new RouteJson(BorderGraph.of(BenchmarkData.countries()));
+    }
+
+    /** Full dataset parse, from bytes already in memory (the network is out of the picture). */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Country> parseCountries() throws IOException {
+        return reader.read(new ByteArrayInputStream(countriesJson));
+    }
+
+    /** The response record as the controller used to build it, serialised by Jackson. */
+    @Benchmark
+    public byte[] serializeShortRoute() throws IOException {
+        return BenchmarkData.OBJECT_MAPPER.writeValueAsBytes(new RouteResponse(SHORT_CODES));
+    }
+
+    @Benchmark
+    public byte[] serializeLongRoute() throws IOException {
+        return BenchmarkData.OBJECT_MAPPER.writeValueAsBytes(new RouteResponse(LONG_CODES));
+    }
+
+    /** The same bodies assembled from the codes pre-encoded for the snapshot. */
+    @Benchmark
+    public byte[] encodeShortRoute() {
+        return routeJson.route(SHORT_CODES);
+    }
+
+    @Benchmark
+    public byte[] encodeLongRoute() {
+        return routeJson.route(LONG_CODES);
+    }
+}
@@ -0,0 +1,119 @@
+package com.routing.benchmark;
+
+import com.routing.exception.NoRouteException;
+import com.routing.graph.RouteMetric;
+import com.routing.model.AlternativesResponse;
+import com.routing.service.CountryGraphService;
+import com.routing.service.RouteCache;
+import com.routing.service.RouteCoalescer;
+import com.routing.service.RouteMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CountryGraphService#findRoute} over the full fixture, per route engine.
+ *
+ * With {@code cacheSize=0} every call runs the engine; with a non-zero size
+ * all but the first call are cache hits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RoutingBenchmark {
+
+    @Param({"bfs", "bidirectional", "table"})
+    public String engine;
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private CountryGraphService service;
+
+    @Setup
+    public void setUp() throws Exception {
+        var routeCache = new RouteCache(cacheSize);
+        var routeCoalescer = new RouteCoalescer();
+        service = new CountryGraphService(BenchmarkData.fixtureClient(), routeCache, routeCoalescer,
+                new RouteMetrics(new SimpleMeterRegistry(), routeCache, routeCoalescer), engine, null,
+                100_000, Duration.ofMillis(200), Duration.ofSeconds(1), Duration.ofMinutes(1));
+        service.reload();
+    }
+
+    /** One border crossing. */
+    @Benchmark
+    public List<String> shortRoute() {
+        return service.findRoute("CZE", "AUT");
+    }
+
+    /** The longest shortest route in the dataset (18 crossings, southern Africa to South-East Asia). */
+    @Benchmark
+    public List<String> longRoute() {
+        return service.findRoute("LSO", "TLS");
+    }
+
+    /** The short pair named by a lower-case cca2 code and a common name instead of cca3. */
+    @Benchmark
+    public List<String> shortRouteByAlias() {
+        return service.findRoute("cz", "Austria");
+    }
+
+    /** Same pair by great-circle distance (A*, never cached). */
+    @Benchmark
+    public List<String> longRouteByDistance() {
+        return service.findRoute("LSO", "TLS", List.of(), List.of(), RouteMetric.DISTANCE);
+    }
+
+    /** Five loopless routes for a short pair (Yen's algorithm; never cached). */
+    @Benchmark
+    public AlternativesResponse alternatives() {
+        return service.findAlternatives("CZE", "ITA", 5);
+    }
+
+    @Benchmark
+    public List<String> sameCountry() {
+        return service.findRoute("DEU", "DEU");
+    }
+
+    /** A pair in different components: rejected by the component check, without a search. */
+    @Benchmark
+    public String unreachable() {
+        try {
+            service.findRoute("FRA", "GBR");
+            throw new IllegalStateException("FRA -> GBR should have no land route");
+        } catch (NoRouteException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Worst case for a search: avoiding Indonesia cuts off TLS, but the pair
+     * shares a component, so the whole Afro-Eurasian component is explored
+     * before giving up.
+     */
+    @Benchmark
+    public String unreachableAvoiding() {
+        try {
+            service.findRoute("LSO", "TLS", List.of("IDN"), List.of(), RouteMetric.HOPS);
+            throw new IllegalStateException("LSO -> TLS avoiding IDN should have no land route");
+        } catch (NoRouteException e) {
+            return e.getMessage();
+        }
+    }
+}
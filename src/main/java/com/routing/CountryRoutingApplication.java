@@ -2,15 +2,18 @@ package com.routing;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routing.config.RoutingRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
 import java.util.concurrent.Executors;
 
 @SpringBootApplication
+@ImportRuntimeHints(RoutingRuntimeHints.class)
 public class CountryRoutingApplication {
     public static void main(String[] args) {
         SpringApplication.run(CountryRoutingApplication.class, args);
@@ -0,0 +1,44 @@
+package com.routing.config;
+
+import com.routing.model.AlternativesResponse;
+import com.routing.model.BatchRouteRequest;
+import com.routing.model.BatchRouteResponse;
+import com.routing.model.HopMatrixRequest;
+import com.routing.model.HopMatrixResponse;
+import com.routing.service.CountryGraphService;
+import com.routing.service.RouteCache;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reflection hints for the records Jackson reads and writes, for the AOT and
+ * native-image builds.
+ *
+ * Spring infers binding hints from controller signatures, but not through
+ * {@code ResponseEntity<?>} (the reload result or its error body), and the
+ * error body is a package-private record of {@code RoutingController}, so it
+ * is resolved by name. Nested records such as {@code RoutePair} and
+ * {@code RouteResult} are registered through the types that contain them.
+ * Route bodies are written by {@code RouteJson}, not by Jackson, so
+ * {@code RouteResponse} needs no hint.
+ */
+public class RoutingRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String ERROR_RESPONSE = "com.routing.controller.RoutingController$ErrorResponse";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                AlternativesResponse.class,
+                BatchRouteRequest.class,
+                BatchRouteResponse.class,
+                HopMatrixRequest.class,
+                HopMatrixResponse.class,
+                RouteCache.Stats.class,
+                CountryGraphService.ReloadResult.class,
+                CountryGraphService.ReloadStats.class,
+                ClassUtils.resolveClassName(ERROR_RESPONSE, classLoader));
+    }
+}
@@ -0,0 +1,12 @@
+package com.routing.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs such as the periodic country dataset refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,53 @@
+package com.routing.controller;
+
+import com.routing.service.CountryGraphService;
+import com.routing.service.RouteCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operational endpoints under /admin — kept apart from /routing so they can
+ * never collide with the {origin}/{destination} path variables.
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
+    private final RouteCache routeCache;
+    private final CountryGraphService countryGraphService;
+
+    public AdminController(RouteCache routeCache, CountryGraphService countryGraphService) {
+        this.routeCache = routeCache;
+        this.countryGraphService = countryGraphService;
+    }
+
+    /** Route cache hit, reverse-hit, miss and eviction counters. */
+    @GetMapping("/cache")
+    public ResponseEntity<RouteCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(routeCache.stats());
+    }
+
+    /** Reload counters and the live snapshot generation. */
+    @GetMapping("/reload")
+    public ResponseEntity<CountryGraphService.ReloadStats> getReloadStats() {
+        return ResponseEntity.ok(countryGraphService.reloadStats());
+    }
+
+    /** Trigger a conditional reload of the country dataset now. */
+    @PostMapping("/reload")
+    public ResponseEntity<?> reload() {
+        try {
+            return ResponseEntity.ok(countryGraphService.reload());
+        } catch (Exception e) {
+            log.warn("Manual reload of country data failed", e);
+            return ResponseEntity
+                    .status(HttpStatus.BAD_GATEWAY)
+                    .body(new RoutingController.ErrorResponse("Reload failed: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.routing.controller;
+
+import com.routing.exception.GraphNotReadyException;
+import com.routing.exception.NoRouteException;
+import com.routing.graph.RouteMetric;
+import com.routing.service.CountryGraphService;
+import com.routing.service.RouteJson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optional lean front end for {@code GET /routing/{origin}/{destination}}
+ * ({@code routing.lean.enabled=true}).
+ *
+ * A JDK {@link HttpServer} on its own port ({@code routing.lean.port}) runs
+ * each exchange on a virtual thread against the same
+ * {@link CountryGraphService}, and so the same snapshot, as
+ * {@link RoutingController}. The path and query are split by hand and the
+ * pre-encoded body is written as is: no DispatcherServlet, argument
+ * resolution, {@code ResponseEntity} or message converters. Status codes,
+ * bodies and caching headers (ETag, Cache-Control, 304) match the MVC
+ * endpoint. Every other endpoint, /admin and /actuator
+ * included, stays on the Spring MVC port.
+ */
+@Component
+@ConditionalOnProperty(name = "routing.lean.enabled", havingValue = "true")
+public class LeanRoutingServer {
+
+    private static final Logger log = LoggerFactory.getLogger(LeanRoutingServer.class);
+
+    private static final String PREFIX = "/routing/";
+    private static final String CONTENT_TYPE = "application/json";
+
+    private static final byte[] NOT_FOUND = RouteJson.error("Not found");
+    private static final byte[] METHOD_NOT_ALLOWED = RouteJson.error("Method not allowed");
+    private static final byte[] INTERNAL_ERROR = RouteJson.error("Internal server error");
+
+    private final CountryGraphService countryGraphService;
+    private final int port;
+    private final String cacheControl;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public LeanRoutingServer(
+            CountryGraphService countryGraphService,
+            @Value("${routing.lean.port:8081}") int port,
+            @Value("${routing.http.cache-control:public, max-age=300}") String cacheControl
+    ) {
+        this.countryGraphService = countryGraphService;
+        this.port = port;
+        this.cacheControl = cacheControl;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+        server.start();
+        log.info("Lean routing server listening on port {}", port());
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        executor.close();
+    }
+
+    /** The bound port; differs from {@code routing.lean.port} when that is 0. */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, METHOD_NOT_ALLOWED);
+                return;
+            }
+            var path = exchange.getRequestURI().getRawPath();
+            int slash = path.indexOf('/', PREFIX.length());
+            if (slash <= PREFIX.length() || slash == path.length() - 1 || path.indexOf('/', slash + 1) >= 0) {
+                send(exchange, 404, NOT_FOUND);
+                return;
+            }
+            var route = route(
+                    decode(path.substring(PREFIX.length(), slash)),
+                    decode(path.substring(slash + 1)),
+                    exchange.getRequestURI().getRawQuery(),
+                    exchange.getRequestHeaders().getFirst("If-None-Match"));
+            var headers = exchange.getResponseHeaders();
+            if (route.eTag() != null) {
+                headers.set("ETag", route.eTag());
+            }
+            if (!cacheControl.isBlank()) {
+                headers.set("Cache-Control", cacheControl);
+            }
+            if (route.notModified()) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                send(exchange, 200, route.json());
+            }
+        } catch (NoRouteException | IllegalArgumentException e) {
+            send(exchange, 400, RouteJson.error(e.getMessage()));
+        } catch (GraphNotReadyException e) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(e.getRetryAfter().toSeconds()));
+            send(exchange, 503, RouteJson.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Lean routing request {} failed", exchange.getRequestURI(), e);
+            send(exchange, 500, INTERNAL_ERROR);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /** Same parameters as {@link RoutingController#getRoute}: repeated or comma-separated avoid/via, and metric. */
+    private CountryGraphService.TaggedRoute route(String origin, String destination, String rawQuery,
+                                                  String ifNoneMatch) {
+        List<String> avoid = List.of();
+        List<String> via = List.of();
+        var metric = RouteMetric.HOPS;
+        if (rawQuery != null) {
+            for (int start = 0; start <= rawQuery.length(); ) {
+                int end = rawQuery.indexOf('&', start);
+                end = end < 0 ? rawQuery.length() : end;
+                int equals = rawQuery.indexOf('=', start);
+                if (equals > start && equals < end) {
+                    var name = rawQuery.substring(start, equals);
+                    var value = decodeQuery(rawQuery.substring(equals + 1, end));
+                    switch (name) {
+                        case "avoid" -> avoid = append(avoid, value);
+                        case "via" -> via = append(via, value);
+                        case "metric" -> metric = RouteMetric.from(value);
+                        default -> { }
+                    }
+                }
+                start = end + 1;
+            }
+        }
+        return countryGraphService.findRouteJson(origin, destination, avoid, via, metric, ifNoneMatch);
+    }
+
+    private static List<String> append(List<String> codes, String value) {
+        var all = new ArrayList<>(codes);
+        for (var code : value.split(",")) {
+            if (!code.isEmpty()) {
+                all.add(code);
+            }
+        }
+        return all;
+    }
+
+    /** Percent-decoding only when there is something to decode; a '+' in a path is literal. */
+    private static String decode(String segment) {
+        return segment.indexOf('%') < 0 ? segment
+                : URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    private static String decodeQuery(String value) {
+        return value.indexOf('%') < 0 && value.indexOf('+') < 0 ? value
+                : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -1,45 +1,203 @@
 package com.routing.controller;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.routing.exception.GraphNotReadyException;
 import com.routing.exception.NoRouteException;
-import com.routing.model.RouteResponse;
+import com.routing.graph.RouteMetric;
+import com.routing.graph.ShortestPathTree;
+import com.routing.model.AlternativesResponse;
+import com.routing.model.BatchRouteRequest;
+import com.routing.model.BatchRouteResponse;
+import com.routing.model.HopMatrixRequest;
+import com.routing.model.HopMatrixResponse;
 import com.routing.service.CountryGraphService;
+import com.routing.service.RouteJson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 /**
- * REST controller exposing the /routing/{origin}/{destination} endpoint.
+ * REST controller exposing the /routing endpoints.
  *
  * Spring Boot 3.x with virtual threads enabled (see application.properties)
  * means each request is handled on a virtual thread automatically — no need
  * for reactive/WebFlux complexity.
+ *
+ * Countries may be named by cca3, cca2, ccn3, cioc or common name, in any
+ * case; identifiers are passed through as received and resolved against
+ * the live snapshot by the service.
  */
 @RestController
 @RequestMapping("/routing")
 public class RoutingController {
 
+    // The servlet container owns the response stream; the generator must not close it
+    private static final JsonFactory JSON = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
     private final CountryGraphService countryGraphService;
+    private final String cacheControl;
 
-    public RoutingController(CountryGraphService countryGraphService) {
+    public RoutingController(
+            CountryGraphService countryGraphService,
+            @Value("${routing.http.cache-control:public, max-age=300}") String cacheControl
+    ) {
         this.countryGraphService = countryGraphService;
+        this.cacheControl = cacheControl;
     }
 
+    /**
+     * Shortest route, optionally avoiding some countries ({@code avoid=RUS,BLR})
+     * and passing through others in order ({@code via=AUT}). {@code metric=distance}
+     * minimises the great-circle distance between capitals instead of the
+     * number of border crossings. The body comes back already encoded, so
+     * no Jackson serialisation runs on this path.
+     *
+     * Answers carry a weak {@code ETag} derived from the graph version and the
+     * query, and {@code routing.http.cache-control}; an {@code If-None-Match}
+     * that still matches is answered 304 without a search.
+     */
     @GetMapping("/{origin}/{destination}")
-    public ResponseEntity<RouteResponse> getRoute(
+    public ResponseEntity<byte[]> getRoute(
+            @PathVariable String origin,
+            @PathVariable String destination,
+            @RequestParam(required = false) List<String> avoid,
+            @RequestParam(required = false) List<String> via,
+            @RequestParam(defaultValue = "hops") String metric,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        var route = countryGraphService.findRouteJson(
+                origin,
+                destination,
+                orEmpty(avoid),
+                orEmpty(via),
+                RouteMetric.from(metric),
+                ifNoneMatch
+        );
+        var response = route.notModified()
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (route.eTag() != null) {
+            response.eTag(route.eTag());
+        }
+        if (!cacheControl.isBlank()) {
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return route.notModified() ? response.build() : response.body(route.json());
+    }
+
+    /**
+     * Hop-distance matrix between two sets of countries ({@code -1} where no
+     * land route exists), computed in one bit-parallel sweep per 64 origins.
+     */
+    @PostMapping("/matrix")
+    public ResponseEntity<HopMatrixResponse> getHopMatrix(@RequestBody HopMatrixRequest request) {
+        return ResponseEntity.ok(countryGraphService.findHopMatrix(request.origins(), request.destinations()));
+    }
+
+    /**
+     * Up to {@code k} alternative routes, fewest crossings first. Enumeration
+     * is bounded per request; a cut-short answer is flagged {@code truncated}.
+     */
+    @GetMapping("/{origin}/{destination}/alternatives")
+    public ResponseEntity<AlternativesResponse> getAlternatives(
+            @PathVariable String origin,
+            @PathVariable String destination,
+            @RequestParam(defaultValue = "3") int k
+    ) {
+        return ResponseEntity.ok(countryGraphService.findAlternatives(origin, destination, k));
+    }
+
+    /**
+     * Route many pairs in one call. One search runs per distinct origin and
+     * each pair gets either its route or its own error in the response.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchRouteResponse> getRoutes(@RequestBody BatchRouteRequest request) {
+        return ResponseEntity.ok(new BatchRouteResponse(countryGraphService.findRoutes(request.pairs())));
+    }
+
+    /**
+     * Hop distance and route from {@code origin} to every reachable country,
+     * optionally capped at {@code maxHops}. The origin is validated and the
+     * single BFS tree is built up front; the routes themselves are written
+     * to the response one by one, in increasing hop order.
+     */
+    @GetMapping("/{origin}")
+    public ResponseEntity<StreamingResponseBody> getRoutesFrom(
             @PathVariable String origin,
-            @PathVariable String destination
+            @RequestParam(required = false) Integer maxHops
     ) {
-        var route = countryGraphService.findRoute(
-                origin.toUpperCase(),
-                destination.toUpperCase()
+        var tree = countryGraphService.findRoutesFrom(
+                origin,
+                maxHops == null ? Integer.MAX_VALUE : maxHops
         );
-        return ResponseEntity.ok(new RouteResponse(route));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> writeTree(tree, out));
     }
 
     @ExceptionHandler(NoRouteException.class)
-    public ResponseEntity<ErrorResponse> handleNoRoute(NoRouteException ex) {
+    public ResponseEntity<byte[]> handleNoRoute(NoRouteException ex) {
+        return badRequest(ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<byte[]> handleInvalidArgument(IllegalArgumentException ex) {
+        return badRequest(ex.getMessage());
+    }
+
+    /** Before the first graph is published: 503, and when to try again. */
+    @ExceptionHandler(GraphNotReadyException.class)
+    public ResponseEntity<byte[]> handleNotReady(GraphNotReadyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(RouteJson.error(ex.getMessage()));
+    }
+
+    private static ResponseEntity<byte[]> badRequest(String message) {
         return ResponseEntity
                 .badRequest()
-                .body(new ErrorResponse(ex.getMessage()));
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(RouteJson.error(message));
+    }
+
+    private static List<String> orEmpty(List<String> codes) {
+        return codes == null ? List.of() : codes;
+    }
+
+    /** Writes {"origin":..,"routes":[{"destination":..,"hops":..,"route":[..]},..]} entry by entry. */
+    private static void writeTree(ShortestPathTree tree, OutputStream out) throws IOException {
+        var graph = tree.graph();
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("origin", graph.code(tree.origin()));
+            json.writeArrayFieldStart("routes");
+            for (int i = 0; i < tree.reachedCount(); i++) {
+                int destination = tree.reached(i);
+                json.writeStartObject();
+                json.writeStringField("destination", graph.code(destination));
+                json.writeNumberField("hops", tree.distance(destination));
+                json.writeArrayFieldStart("route");
+                for (int node : tree.pathTo(destination)) {
+                    json.writeString(graph.code(node));
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
     }
 
     record ErrorResponse(String error) {}
@@ -0,0 +1,21 @@
+package com.routing.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a route is requested before the first border graph has been
+ * published, carrying how long the caller should wait before trying again.
+ */
+public class GraphNotReadyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public GraphNotReadyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,170 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+
+import static com.routing.graph.BreadthFirstSearch.UNVISITED;
+
+/**
+ * A* search minimising the great-circle distance between capitals rather
+ * than the number of border crossings.
+ *
+ * Edge weights come precomputed from {@link BorderGraph}; the heuristic is
+ * the straight great-circle distance from a node to the destination, which
+ * never overestimates, so the first time the destination is taken off the
+ * queue its route is the shortest. Compared with Dijkstra it pulls the
+ * search towards the destination and expands only a corridor of the graph.
+ * The open set is a binary heap over primitive arrays with lazy deletion:
+ * an improved node is pushed again and its outdated entry skipped when popped.
+ *
+ * Takes the same waypoints and exclusion mask as {@link ConstrainedSearch}.
+ * Countries without a capital position cannot be entered.
+ */
+public final class AStarSearch {
+
+    private final BorderGraph graph;
+
+    public AStarSearch(BorderGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Shortest route by distance visiting {@code waypoints} in order and never
+     * entering a node in {@code avoid}. Each segment is reported to
+     * {@code observer} as one search.
+     *
+     * @return node ids along the whole route, or {@code null} if any segment is unreachable
+     */
+    public int[] shortestPath(int[] waypoints, long[] avoid, SearchObserver observer) {
+        var route = new int[] {waypoints[0]};
+        for (int i = 1; i < waypoints.length; i++) {
+            var segment = segment(waypoints[i - 1], waypoints[i], avoid, observer);
+            if (segment == null) {
+                return null;
+            }
+            int length = route.length;
+            route = Arrays.copyOf(route, length + segment.length - 1);
+            System.arraycopy(segment, 1, route, length, segment.length - 1);
+        }
+        return route;
+    }
+
+    private int[] segment(int origin, int destination, long[] avoid, SearchObserver observer) {
+        if (origin == destination) {
+            return new int[] {origin};
+        }
+        if (!graph.mayReach(origin, destination) || !graph.hasPosition(origin) || !graph.hasPosition(destination)) {
+            observer.searched(0, 0);
+            return null;
+        }
+
+        var offsets = graph.offsets();
+        var targets = graph.targets();
+        var weights = graph.weights();
+
+        int n = graph.size();
+        var distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        var estimate = new double[n];
+        Arrays.fill(estimate, Double.NaN);
+        var parent = new int[n];
+        Arrays.fill(parent, UNVISITED);
+        var open = new OpenSet(graph.componentSize(origin));
+        int expanded = 0;
+        int peakFrontier = 1;
+
+        distance[origin] = 0;
+        parent[origin] = origin;
+        estimate[origin] = graph.distanceKm(origin, destination);
+        open.push(origin, estimate[origin]);
+
+        while (open.size > 0) {
+            double key = open.peekKey();
+            int node = open.pop();
+            if (key > distance[node] + estimate[node]) {
+                continue; // superseded by a shorter route to the same node
+            }
+            expanded++;
+            if (node == destination) {
+                observer.searched(expanded, peakFrontier);
+                return BreadthFirstSearch.pathTo(parent, origin, destination);
+            }
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                double candidate = distance[node] + weights[edge];
+                if (candidate >= distance[next] || ConstrainedSearch.contains(avoid, next)) {
+                    continue; // also skips infinite weights: no position at one end
+                }
+                distance[next] = candidate;
+                parent[next] = node;
+                if (Double.isNaN(estimate[next])) {
+                    estimate[next] = graph.distanceKm(next, destination);
+                }
+                open.push(next, candidate + estimate[next]);
+            }
+            peakFrontier = Math.max(peakFrontier, open.size);
+        }
+        observer.searched(expanded, peakFrontier);
+        return null;
+    }
+
+    /** Binary min-heap of node ids keyed by estimated total distance; grows on demand. */
+    private static final class OpenSet {
+
+        private double[] keys;
+        private int[] nodes;
+        private int size;
+
+        OpenSet(int capacity) {
+            keys = new double[Math.max(capacity, 1)];
+            nodes = new int[keys.length];
+        }
+
+        void push(int node, double key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (keys[up] <= key) {
+                    break;
+                }
+                keys[i] = keys[up];
+                nodes[i] = nodes[up];
+                i = up;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        int pop() {
+            int top = nodes[0];
+            double key = keys[--size];
+            int node = nodes[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                keys[i] = keys[child];
+                nodes[i] = nodes[child];
+                i = child;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+            return top;
+        }
+    }
+}
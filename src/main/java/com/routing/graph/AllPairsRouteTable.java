@@ -0,0 +1,170 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed shortest routes between every pair of countries.
+ *
+ * One BFS per source (run in parallel at build time) fills row {@code s} of an
+ * n×n {@code short} matrix with the BFS parent of every node, i.e. the last
+ * hop before it on the route from {@code s}. A lookup walks that row back from
+ * the destination, so it costs O(route length) and yields exactly the route
+ * the on-demand {@link BreadthFirstSearch} would return.
+ *
+ * On an incremental {@link GraphUpdate} a row is kept as long as it is still
+ * a shortest-path tree of the new graph, and only the other rows are searched
+ * again. A kept row may then answer with another route than a fresh BFS
+ * would, but never a longer one.
+ */
+public final class AllPairsRouteTable implements RouteEngine {
+
+    private static final short UNREACHABLE = -1;
+
+    private final int size;
+    private final short[] predecessors;
+    private final long buildNanos;
+    private final int rebuiltRows;
+
+    private AllPairsRouteTable(int size, short[] predecessors, long buildNanos, int rebuiltRows) {
+        this.size = size;
+        this.predecessors = predecessors;
+        this.buildNanos = buildNanos;
+        this.rebuiltRows = rebuiltRows;
+    }
+
+    public static AllPairsRouteTable build(BorderGraph graph) {
+        int n = graph.size();
+        if (n > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Graph with %d countries is too large for a short-indexed route table".formatted(n));
+        }
+
+        long start = System.nanoTime();
+        var predecessors = new short[n * n];
+        IntStream.range(0, n).parallel().forEach(source -> fillRow(graph, source, predecessors));
+        return new AllPairsRouteTable(n, predecessors, System.nanoTime() - start, n);
+    }
+
+    /**
+     * Table for the graph of {@code update}, copying the rows of {@code previous}
+     * that the update leaves valid and searching the rest again, in parallel.
+     * Falls back to {@link #build} when the update is not incremental.
+     */
+    public static AllPairsRouteTable update(AllPairsRouteTable previous, GraphUpdate update) {
+        var graph = update.graph();
+        int n = graph.size();
+        if (!update.isIncremental() || previous.size != n) {
+            return build(graph);
+        }
+
+        long start = System.nanoTime();
+        var stale = IntStream.range(0, n).filter(source -> !previous.keepsRow(source, update)).toArray();
+        if (stale.length == 0) {
+            // rows are never written once built, so an untouched matrix is shared
+            return new AllPairsRouteTable(n, previous.predecessors, System.nanoTime() - start, 0);
+        }
+        var predecessors = previous.predecessors.clone();
+        Arrays.stream(stale).parallel().forEach(source -> fillRow(graph, source, predecessors));
+        return new AllPairsRouteTable(n, predecessors, System.nanoTime() - start, stale.length);
+    }
+
+    /**
+     * Whether row {@code source} is still a shortest-path tree once the
+     * update's borders are removed and added: no tree edge was removed, and
+     * no added edge {@code u -> v} reaches {@code v} in fewer hops than the
+     * tree does (or at all, if the tree does not reach it).
+     */
+    private boolean keepsRow(int source, GraphUpdate update) {
+        int row = source * size;
+        for (long edge : update.removedEdges()) {
+            int to = GraphUpdate.to(edge);
+            if (to != source && predecessors[row + to] == GraphUpdate.from(edge)) {
+                return false;
+            }
+        }
+        for (long edge : update.addedEdges()) {
+            int from = GraphUpdate.from(edge);
+            int to = GraphUpdate.to(edge);
+            if (predecessors[row + from] == UNREACHABLE) {
+                continue;
+            }
+            if (predecessors[row + to] == UNREACHABLE || depth(row, source, from) + 1 < depth(row, source, to)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Hops from {@code source} to a node its row reaches. */
+    private int depth(int row, int source, int node) {
+        int hops = 0;
+        for (; node != source; node = predecessors[row + node]) {
+            hops++;
+        }
+        return hops;
+    }
+
+    /** Full BFS from {@code source}, recording each node's parent into the source's row. */
+    private static void fillRow(BorderGraph graph, int source, short[] predecessors) {
+        var offsets = graph.offsets();
+        var targets = graph.targets();
+        int n = graph.size();
+        int row = source * n;
+
+        Arrays.fill(predecessors, row, row + n, UNREACHABLE);
+        var queue = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        predecessors[row + source] = (short) source;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int node = queue[head++];
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                if (predecessors[row + next] == UNREACHABLE) {
+                    predecessors[row + next] = (short) node;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /** Reports the nodes walked back along the row as expanded; there is no frontier. */
+    @Override
+    public int[] shortestPath(int origin, int destination, SearchObserver observer) {
+        int row = origin * size;
+        if (predecessors[row + destination] == UNREACHABLE) {
+            observer.searched(0, 0);
+            return null;
+        }
+
+        int length = 1;
+        for (int node = destination; node != origin; node = predecessors[row + node]) {
+            length++;
+        }
+        var path = new int[length];
+        for (int node = destination, i = length - 1; i >= 0; node = predecessors[row + node], i--) {
+            path[i] = node;
+        }
+        observer.searched(length, 0);
+        return path;
+    }
+
+    /** Wall-clock time spent building the table, in milliseconds. */
+    public long buildMillis() {
+        return buildNanos / 1_000_000;
+    }
+
+    /** Rows searched to build this table: every row unless it was built by {@link #update}. */
+    public int rebuiltRows() {
+        return rebuiltRows;
+    }
+
+    /** Heap used by the predecessor matrix, in bytes. */
+    public long footprintBytes() {
+        return (long) predecessors.length * Short.BYTES;
+    }
+}
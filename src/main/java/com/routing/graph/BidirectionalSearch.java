@@ -0,0 +1,130 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+
+import static com.routing.graph.BreadthFirstSearch.UNVISITED;
+
+/**
+ * Bidirectional breadth-first search over a {@link BorderGraph}.
+ *
+ * The forward search follows border edges from the origin, the backward
+ * search follows the precomputed reverse adjacency from the destination, so
+ * asymmetric border data is handled correctly. Each round expands one whole
+ * level of whichever frontier is smaller and the search stops at the first
+ * node reached from both sides.
+ *
+ * Stopping at the first meeting is exact: a node discovered in the current
+ * level can only be known to the other side through that side's frontier
+ * (anything deeper inside it would already have met this side earlier), so
+ * every meeting found in a level has the same total length, and that length
+ * is the shortest one.
+ */
+public final class BidirectionalSearch implements RouteEngine {
+
+    private final BorderGraph graph;
+
+    public BidirectionalSearch(BorderGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public int[] shortestPath(int origin, int destination, SearchObserver observer) {
+        if (origin == destination) {
+            return new int[] {origin};
+        }
+        if (!graph.mayReach(origin, destination)) {
+            observer.searched(0, 0);
+            return null;
+        }
+
+        // forward.parent[v]: previous node on the way from the origin
+        // backward.parent[v]: next node on the way to the destination
+        int component = graph.componentSize(origin);
+        var forward = new Frontier(graph.size(), component, graph.offsets(), graph.targets(), origin);
+        var backward = new Frontier(graph.size(), component, graph.reverseOffsets(), graph.reverseTargets(), destination);
+
+        int peakFrontier = 2;
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            int meeting = forward.width() <= backward.width()
+                    ? forward.expandLevel(backward)
+                    : backward.expandLevel(forward);
+            peakFrontier = Math.max(peakFrontier, forward.width() + backward.width());
+            if (meeting != UNVISITED) {
+                observer.searched(forward.head + backward.head, peakFrontier);
+                return join(forward.parent, backward.parent, origin, destination, meeting);
+            }
+        }
+        observer.searched(forward.head + backward.head, peakFrontier);
+        return null;
+    }
+
+    /** Concatenate origin..meeting (forward parents) and meeting..destination (backward parents). */
+    private static int[] join(int[] forwardParent, int[] backwardParent, int origin, int destination, int meeting) {
+        int head = 0;
+        for (int node = meeting; node != origin; node = forwardParent[node]) {
+            head++;
+        }
+        int tail = 0;
+        for (int node = meeting; node != destination; node = backwardParent[node]) {
+            tail++;
+        }
+
+        var path = new int[head + tail + 1];
+        for (int node = meeting, i = head; i >= 0; node = forwardParent[node], i--) {
+            path[i] = node;
+        }
+        for (int node = meeting, i = head; i < path.length; node = backwardParent[node], i++) {
+            path[i] = node;
+        }
+        return path;
+    }
+
+    /** One side of the search: its adjacency direction, parent links and BFS queue. */
+    private static final class Frontier {
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] parent;
+        private final int[] queue;
+        private int head;
+        private int tail;
+
+        Frontier(int size, int component, int[] offsets, int[] targets, int start) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.parent = new int[size];
+            this.queue = new int[component];
+            Arrays.fill(parent, UNVISITED);
+            parent[start] = start;
+            queue[tail++] = start;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        int width() {
+            return tail - head;
+        }
+
+        /** Expand every node of the current level; return the first node also seen by {@code other}. */
+        int expandLevel(Frontier other) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int node = queue[head++];
+                for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                    int next = targets[edge];
+                    if (parent[next] != UNVISITED) {
+                        continue;
+                    }
+                    parent[next] = node;
+                    if (other.parent[next] != UNVISITED) {
+                        return next;
+                    }
+                    queue[tail++] = next;
+                }
+            }
+            return UNVISITED;
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package com.routing.graph;
+
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, int-indexed snapshot of the land-border graph.
+ *
+ * Country codes are interned to dense node ids {@code 0..size()-1} and the
+ * adjacency is stored in compressed sparse row (CSR) form: the neighbours of
+ * node {@code i} are {@code targets[offsets[i] .. offsets[i + 1])}.
+ * The reverse adjacency ({@code reverseOffsets}/{@code reverseTargets}) is
+ * precomputed as well, because the border data is not guaranteed to be
+ * symmetric and backward searches must follow edges against their direction.
+ * Searches run over these primitive arrays and only map ids back to codes
+ * once a route has been found.
+ *
+ * Connected components (borders taken as undirected) are labelled once at
+ * construction with union-find, so a pair in different components is known
+ * to have no land route without any search.
+ *
+ * Each country may carry its capital's position. Every edge gets a weight,
+ * the great-circle distance in km between the capitals at its two ends
+ * ({@code weights}, parallel to {@code targets}); an edge touching a country
+ * without a position has an infinite weight and is never used by a
+ * distance-weighted search.
+ *
+ * Besides its cca3 code, each country keeps the other identifiers it is
+ * known by (cca2, ccn3, cioc, common name); {@link #resolve} maps any of
+ * them, case-insensitively, to the node id.
+ *
+ * A graph rebuilt by a {@link GraphUpdate} shares every derived structure of
+ * the graph it replaces that its changes leave untouched.
+ */
+public final class BorderGraph {
+
+    public static final BorderGraph EMPTY = new BorderGraph(
+            new Source(new String[0], new String[0][], Map.of(), new int[1], new int[0], new double[0], new double[0]),
+            null, null);
+
+    /** Mean Earth radius used for great-circle distances. */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final String[] codes;
+    private final String[][] aliases;
+    private final Map<String, Integer> ids;
+    private final IdentifierIndex identifiers;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] reverseOffsets;
+    private final int[] reverseTargets;
+    private final boolean symmetric;
+    private final int[] components;
+    private final int[] componentSizes;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] unitVectors;
+    private final double[] weights;
+    private final long version;
+
+    /**
+     * @param previous graph with the same codes in the same order whose derived
+     *                 structures may be reused, or {@code null} to compute them all
+     * @param changes  what differs between {@code previous} and {@code source}
+     */
+    private BorderGraph(Source source, BorderGraph previous, GraphUpdate.Changes changes) {
+        boolean carried = previous != null;
+        this.codes = carried ? previous.codes : source.codes();
+        this.aliases = source.aliases();
+        this.ids = carried ? previous.ids : source.ids();
+        this.identifiers = carried && !changes.identifiersChanged()
+                ? previous.identifiers
+                : IdentifierIndex.of(codes, aliases);
+        this.offsets = source.offsets();
+        this.targets = source.targets();
+        if (carried && changes.sameEdges()) {
+            // only the order of some border lists differs: transpose, symmetry and components are unaffected
+            this.reverseOffsets = previous.reverseOffsets;
+            this.reverseTargets = previous.reverseTargets;
+            this.symmetric = previous.symmetric;
+            this.components = previous.components;
+            this.componentSizes = previous.componentSizes;
+        } else {
+            this.reverseOffsets = new int[codes.length + 1];
+            this.reverseTargets = new int[targets.length];
+            reverse(offsets, targets, reverseOffsets, reverseTargets);
+            this.symmetric = isSymmetric(offsets, targets);
+            this.components = new int[codes.length];
+            this.componentSizes = carried && changes.removedEdges().length == 0
+                    ? mergeComponents(previous.components, previous.componentSizes, changes.addedEdges(), components)
+                    : labelComponents(offsets, targets, components);
+        }
+        this.latitudes = source.latitudes();
+        this.longitudes = source.longitudes();
+        boolean samePositions = carried && !changes.positionsChanged();
+        this.unitVectors = samePositions ? previous.unitVectors : unitVectors(latitudes, longitudes);
+        this.weights = new double[targets.length];
+        for (int node = 0; node < codes.length; node++) {
+            if (samePositions && !changes.isChanged(node)) {
+                System.arraycopy(previous.weights, previous.offsets[node], weights, offsets[node],
+                        offsets[node + 1] - offsets[node]);
+                continue;
+            }
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                weights[edge] = distanceKm(node, targets[edge]);
+            }
+        }
+        this.version = contentHash(codes, aliases, offsets, targets, latitudes, longitudes);
+    }
+
+    /**
+     * Build a snapshot from the raw country list.
+     *
+     * Countries with a blank cca3 are dropped, the first occurrence wins on a
+     * duplicate cca3, and borders pointing at codes missing from the dataset
+     * are ignored (they can never be part of a route).
+     */
+    public static BorderGraph of(List<Country> countries) {
+        return new BorderGraph(Source.parse(countries), null, null);
+    }
+
+    /** Build from {@code source}, reusing what {@code changes} leave untouched of {@code previous}. */
+    static BorderGraph of(Source source, BorderGraph previous, GraphUpdate.Changes changes) {
+        return new BorderGraph(source, previous, changes);
+    }
+
+    /** The arrays a graph is built from, before any derived structure. */
+    record Source(String[] codes, String[][] aliases, Map<String, Integer> ids, int[] offsets, int[] targets,
+                  double[] latitudes, double[] longitudes) {
+
+        /** See {@link BorderGraph#of(List)} for how the country list is cleaned up. */
+        static Source parse(List<Country> countries) {
+            var byCode = new LinkedHashMap<String, Country>();
+            for (var country : countries) {
+                if (!country.cca3().isBlank()) {
+                    byCode.putIfAbsent(country.cca3(), country);
+                }
+            }
+
+            var codes = byCode.keySet().toArray(String[]::new);
+            var ids = new HashMap<String, Integer>(codes.length * 2);
+            for (int i = 0; i < codes.length; i++) {
+                ids.put(codes[i], i);
+            }
+
+            var aliases = new String[codes.length][];
+            var latitudes = new double[codes.length];
+            var longitudes = new double[codes.length];
+            var offsets = new int[codes.length + 1];
+            var edges = new ArrayList<Integer>();
+            int node = 0;
+            for (var country : byCode.values()) {
+                var capital = country.capital();
+                aliases[node] = country.aliases().toArray(String[]::new);
+                latitudes[node] = capital == null ? Double.NaN : capital.latitude();
+                longitudes[node] = capital == null ? Double.NaN : capital.longitude();
+                for (var border : country.borders()) {
+                    var target = ids.get(border);
+                    if (target != null) {
+                        edges.add(target);
+                    }
+                }
+                offsets[++node] = edges.size();
+            }
+
+            var targets = edges.stream().mapToInt(Integer::intValue).toArray();
+            return new Source(codes, aliases, Map.copyOf(ids), offsets, targets, latitudes, longitudes);
+        }
+    }
+
+    /**
+     * Rebuild a snapshot from previously exported aliases, CSR arrays and
+     * capital positions ({@code NaN} where unknown, see {@link BorderGraphFile}).
+     */
+    static BorderGraph fromCsr(String[] codes, String[][] aliases, int[] offsets, int[] targets,
+                               double[] latitudes, double[] longitudes) {
+        if (offsets.length != codes.length + 1 || offsets[codes.length] != targets.length
+                || aliases.length != codes.length
+                || latitudes.length != codes.length || longitudes.length != codes.length) {
+            throw new IllegalArgumentException("CSR arrays do not match %d nodes".formatted(codes.length));
+        }
+        var ids = new HashMap<String, Integer>(codes.length * 2);
+        for (int i = 0; i < codes.length; i++) {
+            ids.put(codes[i], i);
+        }
+        for (int target : targets) {
+            if (target < 0 || target >= codes.length) {
+                throw new IllegalArgumentException("Edge target %d out of range".formatted(target));
+            }
+        }
+        return new BorderGraph(new Source(codes, aliases, Map.copyOf(ids), offsets, targets, latitudes, longitudes),
+                null, null);
+    }
+
+    /** Number of countries (nodes) in the graph. */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * 64-bit hash of everything a route answer depends on: codes, identifiers,
+     * borders and capital positions. Graphs built from the same data share it,
+     * across reloads and across instances.
+     */
+    public long version() {
+        return version;
+    }
+
+    /** Number of directed border edges in the graph. */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /** @return the node id for {@code code}, or {@code -1} if the code is unknown */
+    public int idOf(String code) {
+        var id = code == null ? null : ids.get(code);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Case-insensitive lookup by cca3, cca2, ccn3, cioc or common name,
+     * without allocating. An identifier that is another country's cca3 or
+     * is shared by two countries resolves only through cca3.
+     *
+     * @return the node id {@code identifier} refers to, or {@code -1} if it names no country
+     */
+    public int resolve(String identifier) {
+        return identifiers.find(identifier);
+    }
+
+    /** @return the identifiers other than cca3 that node {@code id} is known by */
+    public List<String> aliases(int id) {
+        return List.of(aliases[id]);
+    }
+
+    /** @return the cca3 code of node {@code id} */
+    public String code(int id) {
+        return codes[id];
+    }
+
+    /** Map a path of node ids back to an immutable list of cca3 codes. */
+    public List<String> codes(int[] path) {
+        var route = new String[path.length];
+        for (int i = 0; i < path.length; i++) {
+            route[i] = codes[path[i]];
+        }
+        return List.of(route);
+    }
+
+    /** @return a copy of the neighbour ids of node {@code id} */
+    public int[] neighbours(int id) {
+        return Arrays.copyOfRange(targets, offsets[id], offsets[id + 1]);
+    }
+
+    /** @return a copy of the ids of nodes that have a border edge into node {@code id} */
+    public int[] reverseNeighbours(int id) {
+        return Arrays.copyOfRange(reverseTargets, reverseOffsets[id], reverseOffsets[id + 1]);
+    }
+
+    /** @return {@code true} if every border edge {@code a -> b} has a matching {@code b -> a} */
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    /** @return the id ({@code 0..componentCount()-1}) of the connected component containing node {@code id} */
+    public int componentOf(int id) {
+        return components[id];
+    }
+
+    /** Number of connected components; isolated countries (islands) form one each. */
+    public int componentCount() {
+        return componentSizes.length;
+    }
+
+    /** @return the number of countries in the component of node {@code id} */
+    public int componentSize(int id) {
+        return componentSizes[components[id]];
+    }
+
+    /**
+     * O(1) reachability pre-check.
+     *
+     * {@code false} means no land route exists in either direction. {@code true}
+     * is exact on a symmetric graph; with one-way borders the nodes may still
+     * be unreachable and only a search can tell.
+     */
+    public boolean mayReach(int from, int to) {
+        return components[from] == components[to];
+    }
+
+    /** @return the capital position of node {@code id}, or {@code null} if the dataset has none */
+    public Coordinates capital(int id) {
+        return hasPosition(id) ? new Coordinates(latitudes[id], longitudes[id]) : null;
+    }
+
+    /** @return {@code true} if node {@code id} has a capital position and can be routed by distance */
+    public boolean hasPosition(int id) {
+        return !Double.isNaN(latitudes[id]);
+    }
+
+    /**
+     * Great-circle (haversine) distance between the capitals of two nodes,
+     * from unit vectors precomputed at construction: one square root and
+     * one arcsine per call.
+     *
+     * @return the distance in km, or {@link Double#POSITIVE_INFINITY} if either node has no position
+     */
+    public double distanceKm(int from, int to) {
+        if (!hasPosition(from) || !hasPosition(to)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int a = from * 3;
+        int b = to * 3;
+        double dx = unitVectors[a] - unitVectors[b];
+        double dy = unitVectors[a + 1] - unitVectors[b + 1];
+        double dz = unitVectors[a + 2] - unitVectors[b + 2];
+        double halfChord = Math.min(1.0, Math.sqrt(dx * dx + dy * dy + dz * dz) / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(halfChord);
+    }
+
+    // Raw CSR arrays for the search implementations in this package — never mutated.
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    int[] reverseOffsets() {
+        return reverseOffsets;
+    }
+
+    int[] reverseTargets() {
+        return reverseTargets;
+    }
+
+    double[] weights() {
+        return weights;
+    }
+
+    double[] latitudes() {
+        return latitudes;
+    }
+
+    double[] longitudes() {
+        return longitudes;
+    }
+
+    boolean hasCodes(String[] codes) {
+        return Arrays.equals(this.codes, codes);
+    }
+
+    // -------------------------------------------------------------------------
+    // Derived structures
+    // -------------------------------------------------------------------------
+
+    /** FNV-1a over the fields, 32 bits at a time; lengths are mixed in so field boundaries count. */
+    private static long contentHash(String[] codes, String[][] aliases, int[] offsets, int[] targets,
+                                    double[] latitudes, double[] longitudes) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, codes.length);
+        for (int node = 0; node < codes.length; node++) {
+            hash = mix(hash, codes[node]);
+            hash = mix(hash, aliases[node].length);
+            for (var alias : aliases[node]) {
+                hash = mix(hash, alias);
+            }
+            hash = mix(hash, Double.doubleToLongBits(latitudes[node]));
+            hash = mix(hash, Double.doubleToLongBits(longitudes[node]));
+        }
+        for (int offset : offsets) {
+            hash = mix(hash, offset);
+        }
+        for (int target : targets) {
+            hash = mix(hash, target);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return mix(mix(hash, (int) (value >>> 32)), (int) value);
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    /** Cartesian point on the unit sphere for each node; {@code NaN} where the position is unknown. */
+    private static double[] unitVectors(double[] latitudes, double[] longitudes) {
+        var vectors = new double[latitudes.length * 3];
+        for (int node = 0; node < latitudes.length; node++) {
+            double latitude = Math.toRadians(latitudes[node]);
+            double longitude = Math.toRadians(longitudes[node]);
+            vectors[node * 3] = Math.cos(latitude) * Math.cos(longitude);
+            vectors[node * 3 + 1] = Math.cos(latitude) * Math.sin(longitude);
+            vectors[node * 3 + 2] = Math.sin(latitude);
+        }
+        return vectors;
+    }
+
+    /** Counting-sort transpose of the CSR arrays; predecessors keep source-node order. */
+    private static void reverse(int[] offsets, int[] targets, int[] reverseOffsets, int[] reverseTargets) {
+        int n = reverseOffsets.length - 1;
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+        var cursor = Arrays.copyOf(reverseOffsets, n);
+        for (int node = 0; node < n; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                reverseTargets[cursor[targets[edge]]++] = node;
+            }
+        }
+    }
+
+    /**
+     * Union-find over every edge (union by size, path halving), then relabel
+     * the roots to dense component ids in node order.
+     *
+     * @return the size of each component, indexed by component id
+     */
+    private static int[] labelComponents(int[] offsets, int[] targets, int[] components) {
+        int n = components.length;
+        var parent = new int[n];
+        var size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        for (int node = 0; node < n; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                union(parent, size, node, targets[edge]);
+            }
+        }
+        return relabel(parent, null, components);
+    }
+
+    /**
+     * Components once {@code addedEdges} (see {@link GraphUpdate#edge}) are
+     * added to a graph labelled {@code previous}: the same union-find, run over
+     * the previous components instead of the nodes and only along the new edges.
+     */
+    private static int[] mergeComponents(int[] previous, int[] previousSizes, long[] addedEdges, int[] components) {
+        var parent = new int[previousSizes.length];
+        var size = previousSizes.clone();
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (long edge : addedEdges) {
+            union(parent, size, previous[GraphUpdate.from(edge)], previous[GraphUpdate.to(edge)]);
+        }
+        return relabel(parent, previous, components);
+    }
+
+    private static void union(int[] parent, int[] size, int first, int second) {
+        int a = find(parent, first);
+        int b = find(parent, second);
+        if (a == b) {
+            return;
+        }
+        if (size[a] < size[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[b] = a;
+        size[a] += size[b];
+    }
+
+    /**
+     * Dense component ids in node order; node {@code i} is union-find element
+     * {@code elements[i]}, or {@code i} itself when {@code elements} is {@code null}.
+     */
+    private static int[] relabel(int[] parent, int[] elements, int[] components) {
+        int n = components.length;
+        var label = new int[parent.length];
+        Arrays.fill(label, -1);
+        int count = 0;
+        for (int node = 0; node < n; node++) {
+            int root = find(parent, elements == null ? node : elements[node]);
+            if (label[root] < 0) {
+                label[root] = count++;
+            }
+            components[node] = label[root];
+        }
+        var sizes = new int[count];
+        for (int node = 0; node < n; node++) {
+            sizes[components[node]]++;
+        }
+        return sizes;
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private static boolean isSymmetric(int[] offsets, int[] targets) {
+        for (int node = 0; node < offsets.length - 1; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                if (!hasEdge(offsets, targets, targets[edge], node)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasEdge(int[] offsets, int[] targets, int from, int to) {
+        for (int edge = offsets[from]; edge < offsets[from + 1]; edge++) {
+            if (targets[edge] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
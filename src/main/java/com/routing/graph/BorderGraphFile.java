@@ -0,0 +1,183 @@
+package com.routing.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of a {@link BorderGraph}, read back through a
+ * memory-mapped {@link FileChannel}.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   int   magic      'CRGS'
+ *   int   version
+ *   int   payload length in bytes
+ *   long  CRC32 of the payload
+ *   payload:
+ *     int    node count n, int edge count m
+ *     n x    (short length, UTF-8 bytes)   interned codes in id order
+ *     n+1 x  int                           CSR offsets
+ *     m x    int                           CSR targets
+ *     n x    double                        capital latitudes  (NaN if unknown)
+ *     n x    double                        capital longitudes (NaN if unknown)
+ *     n x    (short count,                 aliases in id order
+ *             count x (short length, UTF-8 bytes))
+ * </pre>
+ * Derived structures (reverse adjacency, symmetry, components, edge
+ * weights) are rebuilt on load.
+ */
+public final class BorderGraphFile {
+
+    static final int MAGIC = 0x43524753; // "CRGS"
+    static final int VERSION = 3;
+    private static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+
+    private BorderGraphFile() {}
+
+    /** Write {@code graph} to {@code path} atomically (temp file + rename). */
+    public static void write(BorderGraph graph, Path path) throws IOException {
+        var codes = new byte[graph.size()][];
+        int payloadBytes = Integer.BYTES * 2;
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = graph.code(i).getBytes(StandardCharsets.UTF_8);
+            payloadBytes += Short.BYTES + codes[i].length;
+        }
+        payloadBytes += Integer.BYTES * (graph.offsets().length + graph.targets().length);
+        payloadBytes += Double.BYTES * 2 * graph.size();
+        var aliases = new byte[graph.size()][][];
+        for (int i = 0; i < aliases.length; i++) {
+            var names = graph.aliases(i);
+            aliases[i] = new byte[names.size()][];
+            payloadBytes += Short.BYTES;
+            for (int j = 0; j < names.size(); j++) {
+                aliases[i][j] = names.get(j).getBytes(StandardCharsets.UTF_8);
+                payloadBytes += Short.BYTES + aliases[i][j].length;
+            }
+        }
+
+        var payload = ByteBuffer.allocate(payloadBytes);
+        payload.putInt(graph.size()).putInt(graph.edgeCount());
+        for (var code : codes) {
+            payload.putShort((short) code.length).put(code);
+        }
+        payload.asIntBuffer().put(graph.offsets()).put(graph.targets());
+        payload.position(payload.position() + Integer.BYTES * (graph.offsets().length + graph.targets().length));
+        payload.asDoubleBuffer().put(graph.latitudes()).put(graph.longitudes());
+        payload.position(payload.position() + Double.BYTES * 2 * graph.size());
+        for (var names : aliases) {
+            payload.putShort((short) names.length);
+            for (var name : names) {
+                payload.putShort((short) name.length).put(name);
+            }
+        }
+        payload.flip();
+
+        var crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        var header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(payloadBytes)
+                .putLong(crc.getValue())
+                .flip();
+
+        var directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining() || payload.hasRemaining()) {
+                    channel.write(new ByteBuffer[] {header, payload});
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Map {@code path} read-only, verify magic, version and checksum, and
+     * decode the graph.
+     *
+     * @throws IOException if the file is missing, truncated, corrupt or of another version
+     */
+    public static BorderGraph read(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Graph snapshot %s is truncated".formatted(path));
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("%s is not a graph snapshot".formatted(path));
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Graph snapshot %s has version %d, expected %d".formatted(path, version, VERSION));
+            }
+            int payloadBytes = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (payloadBytes != buffer.remaining()) {
+                throw new IOException("Graph snapshot %s is truncated".formatted(path));
+            }
+
+            var crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Graph snapshot %s failed its checksum".formatted(path));
+            }
+
+            return decode(buffer);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException and friends: the payload does not match its own counts
+            throw new IOException("Graph snapshot %s is corrupt".formatted(path), e);
+        }
+    }
+
+    private static BorderGraph decode(ByteBuffer buffer) {
+        int n = buffer.getInt();
+        int m = buffer.getInt();
+
+        var codes = new String[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = readString(buffer);
+        }
+
+        var offsets = new int[n + 1];
+        var targets = new int[m];
+        var ints = buffer.asIntBuffer();
+        ints.get(offsets).get(targets);
+        buffer.position(buffer.position() + Integer.BYTES * (offsets.length + targets.length));
+
+        var latitudes = new double[n];
+        var longitudes = new double[n];
+        buffer.asDoubleBuffer().get(latitudes).get(longitudes);
+        buffer.position(buffer.position() + Double.BYTES * 2 * n);
+
+        var aliases = new String[n][];
+        for (int i = 0; i < n; i++) {
+            aliases[i] = new String[buffer.getShort()];
+            for (int j = 0; j < aliases[i].length; j++) {
+                aliases[i][j] = readString(buffer);
+            }
+        }
+
+        return BorderGraph.fromCsr(codes, aliases, offsets, targets, latitudes, longitudes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
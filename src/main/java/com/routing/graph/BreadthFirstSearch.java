@@ -0,0 +1,78 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+
+/**
+ * Single-ended breadth-first search over a {@link BorderGraph}.
+ *
+ * The search keeps one int queue and one parent array per query — the parent
+ * array doubles as the visited set — and rebuilds the path once, by walking
+ * the parents back from the destination, when the destination is reached.
+ */
+public final class BreadthFirstSearch implements RouteEngine {
+
+    static final int UNVISITED = -1;
+
+    private final BorderGraph graph;
+
+    public BreadthFirstSearch(BorderGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public int[] shortestPath(int origin, int destination, SearchObserver observer) {
+        if (origin == destination) {
+            return new int[] {origin};
+        }
+        if (!graph.mayReach(origin, destination)) {
+            observer.searched(0, 0);
+            return null;
+        }
+
+        var offsets = graph.offsets();
+        var targets = graph.targets();
+
+        var parent = new int[graph.size()];
+        Arrays.fill(parent, UNVISITED);
+        // only the origin's component can ever be enqueued
+        var queue = new int[graph.componentSize(origin)];
+        int head = 0;
+        int tail = 0;
+        int peakFrontier = 1;
+
+        parent[origin] = origin;
+        queue[tail++] = origin;
+
+        while (head < tail) {
+            int node = queue[head++];
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                if (parent[next] != UNVISITED) {
+                    continue;
+                }
+                parent[next] = node;
+                if (next == destination) {
+                    observer.searched(head, Math.max(peakFrontier, tail - head));
+                    return pathTo(parent, origin, destination);
+                }
+                queue[tail++] = next;
+            }
+            peakFrontier = Math.max(peakFrontier, tail - head);
+        }
+        observer.searched(head, peakFrontier);
+        return null;
+    }
+
+    /** Walk the parent links back from {@code destination} and return the path in travel order. */
+    static int[] pathTo(int[] parent, int origin, int destination) {
+        int length = 1;
+        for (int node = destination; node != origin; node = parent[node]) {
+            length++;
+        }
+        var path = new int[length];
+        for (int node = destination, i = length - 1; i >= 0; node = parent[node], i--) {
+            path[i] = node;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,100 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+
+import static com.routing.graph.BreadthFirstSearch.UNVISITED;
+
+/**
+ * Breadth-first search with an exclusion mask and mandatory waypoints.
+ *
+ * Countries to avoid are passed as a bitset over node ids ({@code long[]},
+ * one bit per node, see {@link #mask}), so skipping an excluded node costs a
+ * shift and an AND per edge. A route through waypoints is the concatenation
+ * of the shortest masked route between each consecutive pair; segments are
+ * independent, so a country may appear in more than one of them.
+ */
+public final class ConstrainedSearch {
+
+    private final BorderGraph graph;
+
+    public ConstrainedSearch(BorderGraph graph) {
+        this.graph = graph;
+    }
+
+    /** A bitset over the node ids of {@code graph} with the bits of {@code nodes} set. */
+    public static long[] mask(BorderGraph graph, int... nodes) {
+        var mask = new long[(graph.size() + 63) >>> 6];
+        for (int node : nodes) {
+            mask[node >>> 6] |= 1L << node;
+        }
+        return mask;
+    }
+
+    static boolean contains(long[] mask, int node) {
+        return (mask[node >>> 6] & (1L << node)) != 0;
+    }
+
+    /**
+     * Shortest route visiting {@code waypoints} in order (the first is the
+     * origin, the last the destination) and never entering a node in
+     * {@code avoid}. Each segment is reported to {@code observer} as one search.
+     *
+     * @return node ids along the whole route, or {@code null} if any segment is unreachable
+     */
+    public int[] shortestPath(int[] waypoints, long[] avoid, SearchObserver observer) {
+        var route = new int[] {waypoints[0]};
+        for (int i = 1; i < waypoints.length; i++) {
+            var segment = segment(waypoints[i - 1], waypoints[i], avoid, observer);
+            if (segment == null) {
+                return null;
+            }
+            // the segment starts where the route so far ends
+            int length = route.length;
+            route = Arrays.copyOf(route, length + segment.length - 1);
+            System.arraycopy(segment, 1, route, length, segment.length - 1);
+        }
+        return route;
+    }
+
+    private int[] segment(int origin, int destination, long[] avoid, SearchObserver observer) {
+        if (origin == destination) {
+            return new int[] {origin};
+        }
+        if (!graph.mayReach(origin, destination)) {
+            observer.searched(0, 0);
+            return null;
+        }
+
+        var offsets = graph.offsets();
+        var targets = graph.targets();
+
+        var parent = new int[graph.size()];
+        Arrays.fill(parent, UNVISITED);
+        var queue = new int[graph.componentSize(origin)];
+        int head = 0;
+        int tail = 0;
+        int peakFrontier = 1;
+
+        parent[origin] = origin;
+        queue[tail++] = origin;
+
+        while (head < tail) {
+            int node = queue[head++];
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                if (parent[next] != UNVISITED || contains(avoid, next)) {
+                    continue;
+                }
+                parent[next] = node;
+                if (next == destination) {
+                    observer.searched(head, Math.max(peakFrontier, tail - head));
+                    return BreadthFirstSearch.pathTo(parent, origin, destination);
+                }
+                queue[tail++] = next;
+            }
+            peakFrontier = Math.max(peakFrontier, tail - head);
+        }
+        observer.searched(head, peakFrontier);
+        return null;
+    }
+}
@@ -0,0 +1,258 @@
+package com.routing.graph;
+
+import com.routing.model.Country;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A border graph rebuilt from a new country list, together with what changed
+ * since the graph it replaces.
+ *
+ * When both lists intern the same codes in the same order, node ids carry
+ * over and the update is incremental: the new graph reuses the derived
+ * structures of the previous one that the changes leave untouched, and the
+ * borders added and removed tell which routes found on the previous graph
+ * are still shortest routes on the new one ({@link #keepsRoute},
+ * {@link AllPairsRouteTable#update}). Otherwise ids mean different countries
+ * and nothing is carried over.
+ *
+ * Not thread-safe: meant for the one thread that builds and publishes the
+ * new snapshot.
+ */
+public final class GraphUpdate {
+
+    /** Beyond this many added borders, validating routes costs more than searching them again. */
+    static final int MAX_VALIDATED_ADDITIONS = 64;
+
+    private static final long[] NO_EDGES = new long[0];
+
+    private final BorderGraph graph;
+    private final Changes changes;
+
+    // Hop distances on the new graph, per added edge, filled on first use by keepsRoute
+    private final int[][] hopsToTail;
+    private final int[][] hopsFromHead;
+
+    private GraphUpdate(BorderGraph graph, Changes changes) {
+        this.graph = graph;
+        this.changes = changes;
+        int added = changes == null ? 0 : changes.addedEdges().length;
+        this.hopsToTail = new int[added][];
+        this.hopsFromHead = new int[added][];
+    }
+
+    /** Build the graph for {@code countries}, carrying over what it can of {@code previous}. */
+    public static GraphUpdate of(BorderGraph previous, List<Country> countries) {
+        var source = BorderGraph.Source.parse(countries);
+        if (!previous.hasCodes(source.codes())) {
+            return new GraphUpdate(BorderGraph.of(source, null, null), null);
+        }
+        var changes = Changes.between(previous, source);
+        return new GraphUpdate(BorderGraph.of(source, previous, changes), changes);
+    }
+
+    /** The new graph. */
+    public BorderGraph graph() {
+        return graph;
+    }
+
+    /** {@code true} if node ids of the previous graph name the same countries in the new one. */
+    public boolean isIncremental() {
+        return changes != null;
+    }
+
+    /** Number of countries whose border list changed; all of them when not incremental. */
+    public int changedCountries() {
+        return changes == null ? graph.size() : changes.changedNodes().length;
+    }
+
+    /** Number of directed borders added; 0 when not incremental. */
+    public int addedBorders() {
+        return addedEdges().length;
+    }
+
+    /** Number of directed borders removed; 0 when not incremental. */
+    public int removedBorders() {
+        return removedEdges().length;
+    }
+
+    /**
+     * Whether a result found on the previous graph is still a correct answer
+     * on the new one. That holds when no edge of the route was removed and no
+     * added border opens a shorter one: for every added edge {@code u -> v},
+     * {@code hops(origin, u) + 1 + hops(v, destination)} on the new graph must
+     * not undercut the route. A route that now exists with the same number of
+     * hops but different countries is not noticed; any shortest route is a
+     * correct answer.
+     *
+     * @param path the route's node ids, or {@code null} for a pair that had no land route
+     * @return {@code false} whenever in doubt, e.g. when the update is not incremental
+     */
+    public boolean keepsRoute(int origin, int destination, int[] path) {
+        if (changes == null) {
+            return false;
+        }
+        if (path != null) {
+            for (int i = 1; i < path.length; i++) {
+                if (Arrays.binarySearch(changes.removedEdges(), edge(path[i - 1], path[i])) >= 0) {
+                    return false;
+                }
+            }
+        }
+        var added = changes.addedEdges();
+        if (added.length > MAX_VALIDATED_ADDITIONS) {
+            return false;
+        }
+        long hops = path == null ? Long.MAX_VALUE : path.length - 1;
+        for (int i = 0; i < added.length; i++) {
+            int toTail = hopsToTail(i)[origin];
+            int fromHead = hopsFromHead(i)[destination];
+            if (toTail >= 0 && fromHead >= 0 && toTail + 1L + fromHead < hops) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long[] addedEdges() {
+        return changes == null ? NO_EDGES : changes.addedEdges();
+    }
+
+    long[] removedEdges() {
+        return changes == null ? NO_EDGES : changes.removedEdges();
+    }
+
+    private int[] hopsToTail(int index) {
+        if (hopsToTail[index] == null) {
+            hopsToTail[index] = hops(graph.reverseOffsets(), graph.reverseTargets(), from(changes.addedEdges()[index]));
+        }
+        return hopsToTail[index];
+    }
+
+    private int[] hopsFromHead(int index) {
+        if (hopsFromHead[index] == null) {
+            hopsFromHead[index] = hops(graph.offsets(), graph.targets(), to(changes.addedEdges()[index]));
+        }
+        return hopsFromHead[index];
+    }
+
+    /** BFS hop count from {@code source} to every node along the given adjacency; {@code -1} if unreachable. */
+    private static int[] hops(int[] offsets, int[] targets, int source) {
+        var hops = new int[offsets.length - 1];
+        Arrays.fill(hops, -1);
+        var queue = new int[hops.length];
+        int head = 0;
+        int tail = 0;
+        hops[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                if (hops[next] < 0) {
+                    hops[next] = hops[node] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return hops;
+    }
+
+    // Directed edges packed as (from << 32 | to), which sorts by from, then to.
+
+    static long edge(int from, int to) {
+        return (long) from << 32 | to;
+    }
+
+    static int from(long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    static int to(long edge) {
+        return (int) edge;
+    }
+
+    /**
+     * What differs between a graph and the source of its successor, given the
+     * same codes in the same order.
+     *
+     * @param changedNodes nodes whose border list differs, even only in order; ascending
+     * @param addedEdges   edges of the new graph missing from the previous one; sorted
+     * @param removedEdges edges of the previous graph missing from the new one; sorted
+     * @param sameEdges    {@code true} if the changed lists only differ in order
+     */
+    record Changes(int[] changedNodes, long[] addedEdges, long[] removedEdges, boolean sameEdges,
+                   boolean identifiersChanged, boolean positionsChanged) {
+
+        static Changes between(BorderGraph previous, BorderGraph.Source next) {
+            var oldOffsets = previous.offsets();
+            var oldTargets = previous.targets();
+            var newOffsets = next.offsets();
+            var newTargets = next.targets();
+
+            var changed = new ArrayList<Integer>();
+            var added = new ArrayList<Long>();
+            var removed = new ArrayList<Long>();
+            boolean sameEdges = true;
+            for (int node = 0; node < previous.size(); node++) {
+                int oldFrom = oldOffsets[node];
+                int oldTo = oldOffsets[node + 1];
+                int newFrom = newOffsets[node];
+                int newTo = newOffsets[node + 1];
+                if (Arrays.equals(oldTargets, oldFrom, oldTo, newTargets, newFrom, newTo)) {
+                    continue;
+                }
+                changed.add(node);
+                sameEdges = sameEdges && Arrays.equals(
+                        sorted(oldTargets, oldFrom, oldTo), sorted(newTargets, newFrom, newTo));
+                // border lists are short: a linear scan beats building sets
+                for (int edge = newFrom; edge < newTo; edge++) {
+                    if (!contains(oldTargets, oldFrom, oldTo, newTargets[edge])) {
+                        added.add(edge(node, newTargets[edge]));
+                    }
+                }
+                for (int edge = oldFrom; edge < oldTo; edge++) {
+                    if (!contains(newTargets, newFrom, newTo, oldTargets[edge])) {
+                        removed.add(edge(node, oldTargets[edge]));
+                    }
+                }
+            }
+
+            boolean identifiersChanged = false;
+            for (int node = 0; node < previous.size() && !identifiersChanged; node++) {
+                identifiersChanged = !previous.aliases(node).equals(List.of(next.aliases()[node]));
+            }
+            boolean positionsChanged = !Arrays.equals(previous.latitudes(), next.latitudes())
+                    || !Arrays.equals(previous.longitudes(), next.longitudes());
+
+            return new Changes(
+                    changed.stream().mapToInt(Integer::intValue).toArray(),
+                    added.stream().mapToLong(Long::longValue).distinct().sorted().toArray(),
+                    removed.stream().mapToLong(Long::longValue).distinct().sorted().toArray(),
+                    sameEdges,
+                    identifiersChanged,
+                    positionsChanged);
+        }
+
+        boolean isChanged(int node) {
+            return Arrays.binarySearch(changedNodes, node) >= 0;
+        }
+
+        private static int[] sorted(int[] targets, int from, int to) {
+            var range = Arrays.copyOfRange(targets, from, to);
+            Arrays.sort(range);
+            return range;
+        }
+
+        private static boolean contains(int[] targets, int from, int to, int target) {
+            for (int edge = from; edge < to; edge++) {
+                if (targets[edge] == target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
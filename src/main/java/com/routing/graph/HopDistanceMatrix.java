@@ -0,0 +1,92 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+
+/**
+ * Hop distances from a set of origins to a set of destinations, computed by
+ * bit-parallel BFS.
+ *
+ * Origins are taken 64 at a time, one per bit lane of a {@code long}. Each
+ * node carries a {@code visited} and a {@code frontier} word; one level of
+ * all 64 searches is a single sweep in which every node ORs the frontier
+ * words of its predecessors (reverse CSR) and masks out the lanes that have
+ * already visited it. A batch therefore costs one pass over the edges per
+ * level instead of one BFS per origin, and stops as soon as every
+ * destination has been reached by every lane.
+ */
+public final class HopDistanceMatrix {
+
+    /** Matrix entry for a pair without a land route. */
+    public static final int UNREACHABLE = -1;
+
+    private HopDistanceMatrix() {}
+
+    /**
+     * @return {@code hops[i][j]}, the number of border crossings from
+     *         {@code origins[i]} to {@code destinations[j]}, or {@link #UNREACHABLE}
+     */
+    public static int[][] compute(BorderGraph graph, int[] origins, int[] destinations) {
+        var hops = new int[origins.length][destinations.length];
+        for (var row : hops) {
+            Arrays.fill(row, UNREACHABLE);
+        }
+        if (destinations.length == 0) {
+            return hops;
+        }
+
+        int n = graph.size();
+        var reverseOffsets = graph.reverseOffsets();
+        var reverseTargets = graph.reverseTargets();
+        var visited = new long[n];
+        var frontier = new long[n];
+        var next = new long[n];
+
+        for (int base = 0; base < origins.length; base += Long.SIZE) {
+            int lanes = Math.min(Long.SIZE, origins.length - base);
+            Arrays.fill(visited, 0);
+            Arrays.fill(frontier, 0);
+            for (int lane = 0; lane < lanes; lane++) {
+                visited[origins[base + lane]] |= 1L << lane;
+                frontier[origins[base + lane]] |= 1L << lane;
+            }
+
+            int unsettled = lanes * destinations.length;
+            unsettled -= record(hops, base, destinations, frontier, 0);
+            for (int level = 1; unsettled > 0; level++) {
+                boolean advanced = false;
+                for (int node = 0; node < n; node++) {
+                    long reached = 0;
+                    for (int edge = reverseOffsets[node], end = reverseOffsets[node + 1]; edge < end; edge++) {
+                        reached |= frontier[reverseTargets[edge]];
+                    }
+                    reached &= ~visited[node];
+                    next[node] = reached;
+                    advanced |= reached != 0;
+                }
+                if (!advanced) {
+                    break;
+                }
+                for (int node = 0; node < n; node++) {
+                    visited[node] |= next[node];
+                }
+                var swap = frontier;
+                frontier = next;
+                next = swap;
+                unsettled -= record(hops, base, destinations, frontier, level);
+            }
+        }
+        return hops;
+    }
+
+    /** Write {@code level} for every lane that reached a destination in this round; return the cells filled. */
+    private static int record(int[][] hops, int base, int[] destinations, long[] reached, int level) {
+        int filled = 0;
+        for (int column = 0; column < destinations.length; column++) {
+            for (long lanes = reached[destinations[column]]; lanes != 0; lanes &= lanes - 1) {
+                hops[base + Long.numberOfTrailingZeros(lanes)][column] = level;
+                filled++;
+            }
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,137 @@
+package com.routing.graph;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Case-insensitive lookup from any country identifier (cca3, cca2, ccn3,
+ * cioc or common name) to its node id.
+ *
+ * Open addressing with linear probing over a power-of-two table kept at most
+ * half full. Keys are stored case-folded in one shared char pool; a lookup
+ * hashes and compares the query's chars, folding them on the fly, so it
+ * allocates nothing, not even an upper-cased copy of the query.
+ *
+ * A cca3 code always resolves to its own country. Any other identifier that
+ * is some country's cca3 (Bahrain's cioc {@code BRN} is Brunei's cca3), or
+ * that two countries share, is left out of the index.
+ */
+final class IdentifierIndex {
+
+    private static final int AMBIGUOUS = -1;
+
+    private final int mask;
+    // entry + 1 per slot, 0 for an empty slot
+    private final int[] slots;
+    private final int[] hashes;
+    private final int[] nodes;
+    // key of entry i is pool[starts[i] .. starts[i + 1])
+    private final int[] starts;
+    private final char[] pool;
+
+    private IdentifierIndex(Map<String, Integer> keys) {
+        int capacity = Integer.highestOneBit(Math.max(1, keys.size()) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new int[capacity];
+        this.hashes = new int[keys.size()];
+        this.nodes = new int[keys.size()];
+        this.starts = new int[keys.size() + 1];
+        this.pool = new char[keys.keySet().stream().mapToInt(String::length).sum()];
+
+        int entry = 0;
+        for (var key : keys.entrySet()) {
+            var folded = key.getKey();
+            folded.getChars(0, folded.length(), pool, starts[entry]);
+            starts[entry + 1] = starts[entry] + folded.length();
+            hashes[entry] = hash(folded);
+            nodes[entry] = key.getValue();
+
+            int slot = hashes[entry] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = ++entry;
+        }
+    }
+
+    /**
+     * @param codes   cca3 code of each node, by id
+     * @param aliases other identifiers of each node, by id
+     */
+    static IdentifierIndex of(String[] codes, String[][] aliases) {
+        var keys = new LinkedHashMap<String, Integer>(codes.length * 4);
+        for (int node = 0; node < codes.length; node++) {
+            keys.putIfAbsent(fold(codes[node]), node);
+        }
+
+        var claimed = new LinkedHashMap<String, Integer>();
+        for (int node = 0; node < aliases.length; node++) {
+            for (var alias : aliases[node]) {
+                var key = fold(alias.strip());
+                if (!key.isEmpty() && !keys.containsKey(key)) {
+                    claimed.merge(key, node, (first, next) -> first.equals(next) ? first : AMBIGUOUS);
+                }
+            }
+        }
+        claimed.forEach((key, node) -> {
+            if (node != AMBIGUOUS) {
+                keys.put(key, node);
+            }
+        });
+        return new IdentifierIndex(keys);
+    }
+
+    /** @return the node id {@code identifier} refers to, or {@code -1} if it names no country */
+    int find(String identifier) {
+        if (identifier == null) {
+            return -1;
+        }
+        int hash = hash(identifier);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            if (hashes[entry] == hash && matches(entry, identifier)) {
+                return nodes[entry];
+            }
+        }
+    }
+
+    private boolean matches(int entry, String identifier) {
+        int start = starts[entry];
+        if (starts[entry + 1] - start != identifier.length()) {
+            return false;
+        }
+        for (int i = 0; i < identifier.length(); i++) {
+            if (pool[start + i] != fold(identifier.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(String value) {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + fold(value.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String fold(String value) {
+        var folded = new char[value.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(value.charAt(i));
+        }
+        return new String(folded);
+    }
+
+    /** Upper case for ASCII without a table lookup; the full case mapping otherwise. */
+    private static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+        }
+        return Character.toUpperCase(Character.toLowerCase(c));
+    }
+}
@@ -0,0 +1,221 @@
+package com.routing.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.routing.graph.BreadthFirstSearch.UNVISITED;
+
+/**
+ * Yen's algorithm for the k shortest loopless routes by number of border
+ * crossings.
+ *
+ * Route {@code i + 1} is the best of the candidates obtained by deviating
+ * from route {@code i} at each of its nodes (the spur node): the prefix up
+ * to the spur is kept, its nodes are excluded, the edges already taken out
+ * of the spur by accepted routes sharing that prefix are excluded, and a
+ * BFS finds the rest. Exclusions are bitsets over node ids applied during
+ * the search, so the shared snapshot is never copied or modified.
+ *
+ * Every spur search draws on one budget of expanded nodes and one deadline;
+ * when either runs out the routes accepted so far are returned and the
+ * result is marked truncated.
+ */
+public final class KShortestPaths {
+
+    /** Nodes between deadline checks inside a search; {@link System#nanoTime} is not free. */
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    /**
+     * @param paths     node ids of each route, shortest first
+     * @param truncated {@code true} if a work limit stopped the enumeration before {@code k} routes
+     *                  were found or the candidates ran out
+     */
+    public record Result(List<int[]> paths, boolean truncated) {}
+
+    private final BorderGraph graph;
+
+    public KShortestPaths(BorderGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Up to {@code k} loopless routes from {@code origin} to {@code destination},
+     * in non-decreasing number of crossings (ties in discovery order).
+     *
+     * @param maxExpanded   total nodes all spur searches together may expand
+     * @param deadlineNanos {@link System#nanoTime} value after which no more work is started
+     */
+    public Result find(int origin, int destination, int k, int maxExpanded, long deadlineNanos,
+                       SearchObserver observer) {
+        if (origin == destination) {
+            return new Result(List.of(new int[] {origin}), false);
+        }
+        if (!graph.mayReach(origin, destination)) {
+            observer.searched(0, 0);
+            return new Result(List.of(), false);
+        }
+
+        var search = new Search(graph, maxExpanded, deadlineNanos);
+        var accepted = new ArrayList<int[]>(k);
+        var candidates = new ArrayList<int[]>();
+
+        try {
+            var first = search.run(origin, destination);
+            if (first == null) {
+                return new Result(List.of(), search.exhausted);
+            }
+            accepted.add(first);
+
+            while (accepted.size() < k) {
+                var previous = accepted.getLast();
+                for (int i = 0; i < previous.length - 1; i++) {
+                    var spur = spur(search, accepted, previous, i, destination);
+                    if (search.exhausted) {
+                        return new Result(List.copyOf(accepted), true);
+                    }
+                    if (spur != null && !contains(candidates, spur) && !contains(accepted, spur)) {
+                        candidates.add(spur);
+                    }
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                accepted.add(candidates.remove(shortest(candidates)));
+                // a CPU-bound loop keeps its carrier thread; let other virtual threads in between rounds
+                Thread.yield();
+            }
+            return new Result(List.copyOf(accepted), false);
+        } finally {
+            observer.searched(search.expanded, search.peakFrontier);
+        }
+    }
+
+    /** Deviation from {@code previous} at index {@code i}, or {@code null} if there is none. */
+    private int[] spur(Search search, List<int[]> accepted, int[] previous, int i, int destination) {
+        int spurNode = previous[i];
+        for (var path : accepted) {
+            if (path.length > i + 1 && Arrays.equals(path, 0, i + 1, previous, 0, i + 1)) {
+                set(search.excludedFromSpur, path[i + 1]);
+            }
+        }
+        for (int j = 0; j < i; j++) {
+            set(search.excludedNodes, previous[j]);
+        }
+
+        var tail = search.run(spurNode, destination);
+
+        Arrays.fill(search.excludedFromSpur, 0);
+        for (int j = 0; j < i; j++) {
+            clear(search.excludedNodes, previous[j]);
+        }
+        if (tail == null) {
+            return null;
+        }
+        var route = Arrays.copyOf(previous, i + tail.length);
+        System.arraycopy(tail, 0, route, i, tail.length);
+        return route;
+    }
+
+    private static int shortest(List<int[]> candidates) {
+        int best = 0;
+        for (int i = 1; i < candidates.size(); i++) {
+            if (candidates.get(i).length < candidates.get(best).length) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static boolean contains(List<int[]> paths, int[] path) {
+        for (var other : paths) {
+            if (Arrays.equals(other, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void set(long[] mask, int node) {
+        mask[node >>> 6] |= 1L << node;
+    }
+
+    private static void clear(long[] mask, int node) {
+        mask[node >>> 6] &= ~(1L << node);
+    }
+
+    /**
+     * BFS state reused by every spur search of one request: the parent and
+     * queue arrays are allocated once and only the entries a search touched
+     * are reset afterwards.
+     */
+    private static final class Search {
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] parent;
+        private final int[] queue;
+        private final long[] excludedNodes;
+        private final long[] excludedFromSpur;
+        private final int maxExpanded;
+        private final long deadlineNanos;
+
+        private int expanded;
+        private int peakFrontier;
+        private boolean exhausted;
+
+        Search(BorderGraph graph, int maxExpanded, long deadlineNanos) {
+            this.offsets = graph.offsets();
+            this.targets = graph.targets();
+            this.parent = new int[graph.size()];
+            Arrays.fill(parent, UNVISITED);
+            this.queue = new int[graph.size()];
+            this.excludedNodes = new long[(graph.size() + 63) >>> 6];
+            this.excludedFromSpur = new long[excludedNodes.length];
+            this.maxExpanded = maxExpanded;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Shortest route from {@code origin} to {@code destination} that enters
+         * no excluded node and leaves {@code origin} by no excluded edge;
+         * {@code null} if there is none or the budget ran out.
+         */
+        int[] run(int origin, int destination) {
+            int head = 0;
+            int tail = 0;
+            parent[origin] = origin;
+            queue[tail++] = origin;
+            try {
+                while (head < tail) {
+                    if (expanded >= maxExpanded
+                            || (expanded % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadlineNanos)) {
+                        exhausted = true;
+                        return null;
+                    }
+                    int node = queue[head++];
+                    expanded++;
+                    for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                        int next = targets[edge];
+                        if (parent[next] != UNVISITED || ConstrainedSearch.contains(excludedNodes, next)
+                                || (node == origin && ConstrainedSearch.contains(excludedFromSpur, next))) {
+                            continue;
+                        }
+                        parent[next] = node;
+                        if (next == destination) {
+                            return BreadthFirstSearch.pathTo(parent, origin, destination);
+                        }
+                        queue[tail++] = next;
+                    }
+                    peakFrontier = Math.max(peakFrontier, tail - head);
+                }
+                return null;
+            } finally {
+                for (int i = 0; i < tail; i++) {
+                    parent[queue[i]] = UNVISITED;
+                }
+                parent[destination] = UNVISITED; // found routes return before it is enqueued
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.routing.graph;
+
+/**
+ * Shortest-path strategy bound to one {@link BorderGraph} snapshot.
+ *
+ * Implementations work on node ids only; mapping to and from cca3 codes is
+ * left to the caller.
+ */
+public interface RouteEngine {
+
+    /**
+     * @return node ids from {@code origin} to {@code destination} (inclusive),
+     *         or {@code null} if the destination is unreachable
+     */
+    default int[] shortestPath(int origin, int destination) {
+        return shortestPath(origin, destination, SearchObserver.NONE);
+    }
+
+    /**
+     * As {@link #shortestPath(int, int)}, reporting the work done to {@code observer}
+     * once per search (not for the trivial {@code origin == destination} case).
+     */
+    int[] shortestPath(int origin, int destination, SearchObserver observer);
+}
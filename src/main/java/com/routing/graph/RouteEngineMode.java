@@ -0,0 +1,67 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Route engines selectable per deployment through the {@code routing.engine} property.
+ */
+public enum RouteEngineMode {
+
+    /** On-demand single-ended BFS for every query. */
+    BFS {
+        @Override
+        public RouteEngine create(BorderGraph graph) {
+            return new BreadthFirstSearch(graph);
+        }
+    },
+
+    /** On-demand BFS expanding from both ends, always from the smaller frontier. */
+    BIDIRECTIONAL {
+        @Override
+        public RouteEngine create(BorderGraph graph) {
+            return new BidirectionalSearch(graph);
+        }
+    },
+
+    /** All-pairs predecessor table precomputed when the snapshot is loaded. */
+    TABLE {
+        @Override
+        public RouteEngine create(BorderGraph graph) {
+            return AllPairsRouteTable.build(graph);
+        }
+
+        @Override
+        public RouteEngine update(RouteEngine previous, GraphUpdate update) {
+            return previous instanceof AllPairsRouteTable table
+                    ? AllPairsRouteTable.update(table, update)
+                    : create(update.graph());
+        }
+    };
+
+    /** Create the engine for a freshly loaded snapshot. */
+    public abstract RouteEngine create(BorderGraph graph);
+
+    /**
+     * Create the engine for the graph of {@code update}, reusing what it can
+     * of {@code previous}, the engine of the graph it replaces. Only the
+     * table holds precomputed routes worth carrying over.
+     */
+    public RouteEngine update(RouteEngine previous, GraphUpdate update) {
+        return create(update.graph());
+    }
+
+    /**
+     * Parse a property value such as {@code bfs} or {@code table} (case-insensitive).
+     *
+     * @throws IllegalArgumentException if {@code value} names no engine
+     */
+    public static RouteEngineMode from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown route engine '%s', expected one of %s"
+                    .formatted(value, Arrays.toString(values()).toLowerCase(Locale.ROOT)), e);
+        }
+    }
+}
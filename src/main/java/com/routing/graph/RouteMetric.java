@@ -0,0 +1,50 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * What a route minimises, selectable per query through {@code ?metric=}.
+ */
+public enum RouteMetric {
+
+    /** Number of border crossings (masked BFS). */
+    HOPS {
+        @Override
+        public int[] shortestPath(BorderGraph graph, int[] waypoints, long[] avoid, SearchObserver observer) {
+            return new ConstrainedSearch(graph).shortestPath(waypoints, avoid, observer);
+        }
+    },
+
+    /** Great-circle distance between consecutive capitals (A*). */
+    DISTANCE {
+        @Override
+        public int[] shortestPath(BorderGraph graph, int[] waypoints, long[] avoid, SearchObserver observer) {
+            return new AStarSearch(graph).shortestPath(waypoints, avoid, observer);
+        }
+    };
+
+    /**
+     * Shortest route through {@code waypoints} (origin first, destination last)
+     * that never enters a node in {@code avoid}.
+     *
+     * @return node ids along the route, or {@code null} if there is none
+     */
+    public abstract int[] shortestPath(BorderGraph graph, int[] waypoints, long[] avoid, SearchObserver observer);
+
+    /**
+     * Parse a query value such as {@code hops} or {@code distance} (case-insensitive).
+     *
+     * @throws IllegalArgumentException naming the accepted values if {@code value} is not one of them
+     */
+    public static RouteMetric from(String value) {
+        var name = value.trim().toUpperCase(Locale.ROOT);
+        for (var metric : values()) {
+            if (metric.name().equals(name)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric '%s', expected one of %s".formatted(
+                value, Arrays.toString(values()).toLowerCase(Locale.ROOT)));
+    }
+}
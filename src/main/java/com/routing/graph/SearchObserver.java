@@ -0,0 +1,19 @@
+package com.routing.graph;
+
+/**
+ * Receives the work counters of one search from a {@link RouteEngine}.
+ *
+ * Engines count with local ints and report them once, as primitives, when
+ * the search ends, so observing a search allocates nothing.
+ */
+@FunctionalInterface
+public interface SearchObserver {
+
+    SearchObserver NONE = (expanded, peakFrontier) -> {};
+
+    /**
+     * @param expanded     nodes whose neighbours were scanned (or, for a lookup table, nodes walked)
+     * @param peakFrontier largest number of discovered but not yet expanded nodes at any point
+     */
+    void searched(int expanded, int peakFrontier);
+}
@@ -0,0 +1,103 @@
+package com.routing.graph;
+
+import java.util.Arrays;
+
+import static com.routing.graph.BreadthFirstSearch.UNVISITED;
+
+/**
+ * BFS tree rooted at one origin: hop distance and parent link of every node
+ * reachable within an optional hop limit.
+ *
+ * One tree answers the route to every destination from that origin, so
+ * callers that need many routes from the same origin run a single search
+ * instead of one per destination.
+ */
+public final class ShortestPathTree {
+
+    private final BorderGraph graph;
+    private final int origin;
+    private final int[] parent;
+    private final int[] distance;
+    private final int[] order;
+    private final int reached;
+
+    private ShortestPathTree(BorderGraph graph, int origin, int[] parent, int[] distance, int[] order, int reached) {
+        this.graph = graph;
+        this.origin = origin;
+        this.parent = parent;
+        this.distance = distance;
+        this.order = order;
+        this.reached = reached;
+    }
+
+    /** Full BFS from {@code origin}. */
+    public static ShortestPathTree from(BorderGraph graph, int origin) {
+        return from(graph, origin, Integer.MAX_VALUE);
+    }
+
+    /** BFS from {@code origin} that stops expanding nodes {@code maxHops} away. */
+    public static ShortestPathTree from(BorderGraph graph, int origin, int maxHops) {
+        var offsets = graph.offsets();
+        var targets = graph.targets();
+
+        var parent = new int[graph.size()];
+        var distance = new int[graph.size()];
+        Arrays.fill(parent, UNVISITED);
+        // the BFS queue doubles as the discovery order once the search is done;
+        // nothing outside the origin's component can be reached
+        var queue = new int[graph.componentSize(origin)];
+        int head = 0;
+        int tail = 0;
+
+        parent[origin] = origin;
+        queue[tail++] = origin;
+
+        while (head < tail) {
+            int node = queue[head++];
+            if (distance[node] >= maxHops) {
+                continue;
+            }
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                if (parent[next] == UNVISITED) {
+                    parent[next] = node;
+                    distance[next] = distance[node] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return new ShortestPathTree(graph, origin, parent, distance, queue, tail);
+    }
+
+    public int origin() {
+        return origin;
+    }
+
+    public boolean isReachable(int node) {
+        return parent[node] != UNVISITED;
+    }
+
+    /** @return hop count from the origin, or {@code -1} if {@code node} is not reachable */
+    public int distance(int node) {
+        return isReachable(node) ? distance[node] : -1;
+    }
+
+    /** @return node ids from the origin to {@code node} (inclusive), or {@code null} if unreachable */
+    public int[] pathTo(int node) {
+        return isReachable(node) ? BreadthFirstSearch.pathTo(parent, origin, node) : null;
+    }
+
+    /** Number of reached nodes, the origin included. */
+    public int reachedCount() {
+        return reached;
+    }
+
+    /** @return the {@code index}-th reached node in BFS (non-decreasing distance) order; index 0 is the origin */
+    public int reached(int index) {
+        return order[index];
+    }
+
+    public BorderGraph graph() {
+        return graph;
+    }
+}
@@ -0,0 +1,17 @@
+package com.routing.model;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * Immutable record representing the API response for an alternative routes
+ * query: the routes found, shortest first, and whether a work limit cut the
+ * enumeration short.
+ */
+public record AlternativesResponse(List<List<String>> routes, boolean truncated) {
+    public AlternativesResponse {
+        Validate.notNull(routes, "routes should not be null");
+        routes = routes.stream().map(List::copyOf).toList();
+    }
+}
@@ -0,0 +1,15 @@
+package com.routing.model;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * Immutable record representing the request body of a batch route query.
+ */
+public record BatchRouteRequest(List<RoutePair> pairs) {
+    public BatchRouteRequest {
+        Validate.notNull(pairs, "pairs should not be null");
+        pairs = List.copyOf(pairs);
+    }
+}
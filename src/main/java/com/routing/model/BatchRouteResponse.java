@@ -0,0 +1,16 @@
+package com.routing.model;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * Immutable record representing the API response for a batch route query,
+ * with one result per requested pair, in request order.
+ */
+public record BatchRouteResponse(List<RouteResult> results) {
+    public BatchRouteResponse {
+        Validate.notNull(results, "results should not be null");
+        results = List.copyOf(results);
+    }
+}
@@ -0,0 +1,16 @@
+package com.routing.model;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Immutable record representing a point on the globe in decimal degrees.
+ */
+public record Coordinates(
+        double latitude,
+        double longitude
+) {
+    public Coordinates {
+        Validate.isTrue(latitude >= -90 && latitude <= 90, "latitude should be within [-90, 90]");
+        Validate.isTrue(longitude >= -180 && longitude <= 180, "longitude should be within [-180, 180]");
+    }
+}
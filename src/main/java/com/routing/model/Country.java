@@ -6,13 +6,30 @@ import java.util.List;
 
 /**
  * Immutable record representing a country from the external JSON data.
+ *
+ * {@code capital} is where distance-weighted routes start, end and change
+ * country; it is {@code null} when the dataset has no position for it.
+ * {@code aliases} are the other identifiers the country is known by
+ * ({@code cca2}, {@code ccn3}, {@code cioc} and the common name), any of
+ * which a route request may use instead of the cca3 code.
  */
 public record Country(
         String cca3,
-        List<String> borders
+        List<String> borders,
+        Coordinates capital,
+        List<String> aliases
 ) {
     public Country {
         Validate.notNull(cca3, "cca3 should not be null");
         borders = borders == null ? List.of() : List.copyOf(borders);
+        aliases = aliases == null ? List.of() : List.copyOf(aliases);
+    }
+
+    public Country(String cca3, List<String> borders, Coordinates capital) {
+        this(cca3, borders, capital, List.of());
+    }
+
+    public Country(String cca3, List<String> borders) {
+        this(cca3, borders, null);
     }
 }
@@ -0,0 +1,17 @@
+package com.routing.model;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * Immutable record representing the request body of a hop-distance matrix query.
+ */
+public record HopMatrixRequest(List<String> origins, List<String> destinations) {
+    public HopMatrixRequest {
+        Validate.notNull(origins, "origins should not be null");
+        Validate.notNull(destinations, "destinations should not be null");
+        origins = List.copyOf(origins);
+        destinations = List.copyOf(destinations);
+    }
+}
@@ -0,0 +1,26 @@
+package com.routing.model;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * Immutable record representing the API response for a hop-distance matrix
+ * query: {@code hops.get(i).get(j)} is the number of border crossings from
+ * {@code origins[i]} to {@code destinations[j]}, or {@code -1} if there is no
+ * land route.
+ */
+public record HopMatrixResponse(List<String> origins, List<String> destinations, List<List<Integer>> hops) {
+    public HopMatrixResponse {
+        Validate.notNull(origins, "origins should not be null");
+        Validate.notNull(destinations, "destinations should not be null");
+        Validate.notNull(hops, "hops should not be null");
+        origins = List.copyOf(origins);
+        destinations = List.copyOf(destinations);
+        hops = hops.stream().map(List::copyOf).toList();
+        Validate.isTrue(hops.size() == origins.size(), "hops should have one row per origin");
+        int columns = destinations.size();
+        Validate.isTrue(hops.stream().allMatch(row -> row.size() == columns),
+                "hops should have one column per destination");
+    }
+}
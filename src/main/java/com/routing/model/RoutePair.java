@@ -0,0 +1,13 @@
+package com.routing.model;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Immutable record representing one origin/destination pair of a batch route query.
+ */
+public record RoutePair(String origin, String destination) {
+    public RoutePair {
+        Validate.notNull(origin, "origin should not be null");
+        Validate.notNull(destination, "destination should not be null");
+    }
+}
@@ -6,6 +6,10 @@ import java.util.List;
 
 /**
  * Immutable record representing the API response for a route query.
+ *
+ * The endpoints write this shape with {@code RouteJson}; the record remains
+ * as the Jackson reference that {@code JsonBenchmark} and the tests compare
+ * against.
  */
 public record RouteResponse(List<String> route) {
     public RouteResponse {
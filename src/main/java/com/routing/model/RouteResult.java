@@ -0,0 +1,28 @@
+package com.routing.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
+/**
+ * Immutable record representing the outcome for one pair of a batch route query:
+ * either a {@code route} or an {@code error}, never both.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RouteResult(String origin, String destination, List<String> route, String error) {
+    public RouteResult {
+        Validate.notNull(origin, "origin should not be null");
+        Validate.notNull(destination, "destination should not be null");
+        Validate.isTrue(route == null ^ error == null, "exactly one of route and error should be set");
+        route = route == null ? null : List.copyOf(route);
+    }
+
+    public static RouteResult found(String origin, String destination, List<String> route) {
+        return new RouteResult(origin, destination, route, null);
+    }
+
+    public static RouteResult failed(String origin, String destination, String error) {
+        return new RouteResult(origin, destination, null, error);
+    }
+}
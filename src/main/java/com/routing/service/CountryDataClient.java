@@ -0,0 +1,205 @@
+package com.routing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routing.model.Country;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Downloads the countries dataset through the virtual-thread HttpClient.
+ *
+ * {@code countries.data.url} is an ordered, comma-separated list of mirrors.
+ * The first mirror is asked on its own virtual thread; if it has not answered
+ * within {@code countries.data.hedge-delay}, or as soon as it fails, the next
+ * one is asked as well. The first valid answer wins and the requests still in
+ * flight are cancelled. A fetch fails only once every mirror has failed.
+ *
+ * The ETag and Last-Modified validators of the last successful download are
+ * kept and sent back as If-None-Match / If-Modified-Since on conditional
+ * fetches to the mirror they came from, so an unchanged dataset costs a 304
+ * and no parsing at all. Other mirrors get a plain GET: their validators say
+ * nothing about the copy already loaded.
+ *
+ * Requests advertise {@code Accept-Encoding: gzip}. Bodies are streamed,
+ * gunzipped on the fly when compressed, straight into a
+ * {@link CountryJsonReader}; the JSON is never buffered as a String.
+ */
+@Component
+public class CountryDataClient {
+
+    private static final Logger log = LoggerFactory.getLogger(CountryDataClient.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final HttpClient httpClient;
+    private final CountryJsonReader jsonReader;
+    private final List<URI> mirrors;
+    private final Duration hedgeDelay;
+
+    private volatile Validators validators = Validators.NONE;
+
+    public CountryDataClient(
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            @Value("${countries.data.url:https://raw.githubusercontent.com/mledoze/countries/master/countries.json}")
+            String dataUrls,
+            @Value("${countries.data.hedge-delay:2s}") Duration hedgeDelay
+    ) {
+        this.httpClient = httpClient;
+        this.jsonReader = new CountryJsonReader(objectMapper.getFactory());
+        this.mirrors = Arrays.stream(dataUrls.split(","))
+                .map(String::strip)
+                .filter(url -> !url.isEmpty())
+                .map(URI::create)
+                .toList();
+        this.hedgeDelay = hedgeDelay;
+        if (mirrors.isEmpty()) {
+            throw new IllegalArgumentException("countries.data.url lists no mirror");
+        }
+    }
+
+    /** Unconditional download of the full dataset. */
+    public List<Country> fetch() throws Exception {
+        return send(false).orElseThrow();
+    }
+
+    /**
+     * Conditional download.
+     *
+     * @return the dataset, or empty if the server answered 304 Not Modified
+     */
+    public Optional<List<Country>> fetchIfModified() throws Exception {
+        return send(true);
+    }
+
+    private Optional<List<Country>> send(boolean conditional) throws Exception {
+        var current = validators;
+        var inFlight = new ArrayList<Future<Download>>(mirrors.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var completion = new ExecutorCompletionService<Download>(executor);
+            Exception failure = null;
+            int finished = 0;
+            inFlight.add(completion.submit(next(0, conditional, current)));
+            try {
+                while (finished < inFlight.size()) {
+                    boolean spare = inFlight.size() < mirrors.size();
+                    var done = spare ? completion.poll(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS) : completion.take();
+                    if (done == null) {
+                        log.debug("No answer from {} within {}, hedging", mirrors.get(inFlight.size() - 1), hedgeDelay);
+                        inFlight.add(completion.submit(next(inFlight.size(), conditional, current)));
+                        continue;
+                    }
+                    finished++;
+                    try {
+                        var download = done.get();
+                        if (download.countries() != null) {
+                            validators = download.validators();
+                        }
+                        return Optional.ofNullable(download.countries());
+                    } catch (ExecutionException e) {
+                        var cause = e.getCause() instanceof Exception exception ? exception : e;
+                        if (mirrors.size() > 1) {
+                            log.warn("Fetching country data from {} failed: {}", mirrorOf(done, inFlight), cause.toString());
+                        }
+                        if (failure == null) {
+                            failure = cause;
+                        } else {
+                            failure.addSuppressed(cause);
+                        }
+                        if (spare) {
+                            inFlight.add(completion.submit(next(inFlight.size(), conditional, current)));
+                        }
+                    }
+                }
+                throw failure;
+            } finally {
+                // Interrupting a virtual thread blocked in send() or on the body aborts the exchange
+                inFlight.forEach(download -> download.cancel(true));
+            }
+        }
+    }
+
+    private Callable<Download> next(int mirror, boolean conditional, Validators current) {
+        return () -> send(mirrors.get(mirror), conditional, current);
+    }
+
+    private URI mirrorOf(Future<Download> done, List<Future<Download>> inFlight) {
+        return mirrors.get(inFlight.indexOf(done));
+    }
+
+    /** One request to one mirror; a {@code null} dataset stands for 304 Not Modified. */
+    private Download send(URI mirror, boolean conditional, Validators current) throws IOException, InterruptedException {
+        var builder = HttpRequest.newBuilder()
+                .uri(mirror)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+
+        boolean validated = conditional && mirror.equals(current.mirror());
+        if (validated && current.etag() != null) {
+            builder.header("If-None-Match", current.etag());
+        }
+        if (validated && current.lastModified() != null) {
+            builder.header("If-Modified-Since", current.lastModified());
+        }
+
+        var response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+
+        List<Country> countries;
+        try (var body = response.body()) {
+            if (validated && response.statusCode() == 304) {
+                return new Download(null, current);
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("Unexpected HTTP status: " + response.statusCode());
+            }
+            countries = jsonReader.read(decoded(response, body));
+        }
+        if (countries.isEmpty()) {
+            throw new IOException("Empty country dataset");
+        }
+
+        // Only remember the validators once the body has been parsed successfully
+        return new Download(countries, new Validators(
+                mirror,
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null)));
+    }
+
+    private static InputStream decoded(HttpResponse<?> response, InputStream body) throws IOException {
+        var encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        return switch (encoding.strip().toLowerCase(Locale.ROOT)) {
+            case "identity" -> body;
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, GZIP_BUFFER_SIZE);
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+    }
+
+    private record Download(List<Country> countries, Validators validators) {}
+
+    /** HTTP cache validators of the last successful download, and the mirror that sent them. */
+    private record Validators(URI mirror, String etag, String lastModified) {
+        static final Validators NONE = new Validators(null, null, null);
+    }
+}
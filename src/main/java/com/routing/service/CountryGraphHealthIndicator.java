@@ -0,0 +1,33 @@
+package com.routing.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code countryGraph} health: out of service until the first border graph is
+ * published. It is part of the readiness group only (see application.properties),
+ * so liveness is up as soon as the context starts while readiness waits for data.
+ */
+@Component
+public class CountryGraphHealthIndicator implements HealthIndicator {
+
+    private final CountryGraphService countryGraphService;
+
+    public CountryGraphHealthIndicator(CountryGraphService countryGraphService) {
+        this.countryGraphService = countryGraphService;
+    }
+
+    @Override
+    public Health health() {
+        var status = countryGraphService.loadStatus();
+        var health = status.ready() ? Health.up() : Health.outOfService();
+        health.withDetail("generation", status.generation())
+                .withDetail("countries", status.countries())
+                .withDetail("loadAttempts", status.attempts());
+        if (status.lastError() != null) {
+            health.withDetail("lastError", status.lastError());
+        }
+        return health.build();
+    }
+}
@@ -1,38 +1,66 @@
 package com.routing.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routing.exception.GraphNotReadyException;
 import com.routing.exception.NoRouteException;
-import com.routing.model.BfsState;
+import com.routing.graph.AllPairsRouteTable;
+import com.routing.graph.BorderGraph;
+import com.routing.graph.BorderGraphFile;
+import com.routing.graph.ConstrainedSearch;
+import com.routing.graph.GraphUpdate;
+import com.routing.graph.HopDistanceMatrix;
+import com.routing.graph.KShortestPaths;
+import com.routing.graph.RouteEngine;
+import com.routing.graph.RouteEngineMode;
+import com.routing.graph.RouteMetric;
+import com.routing.graph.ShortestPathTree;
+import com.routing.model.AlternativesResponse;
 import com.routing.model.Country;
+import com.routing.model.HopMatrixResponse;
+import com.routing.model.RoutePair;
+import com.routing.model.RouteResult;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service that:
- *  - Loads country data from a remote JSON source using a virtual-thread HttpClient
- *  - Builds an adjacency graph of land borders
- *  - Exposes BFS-based route finding
+ *  - Loads country data from a remote JSON source through {@link CountryDataClient}
+ *    on a virtual thread, retrying with backoff, without holding up startup; queries
+ *    fail fast with {@link GraphNotReadyException} until the first snapshot is published
+ *  - Refreshes the data in the background (conditional GET, atomic snapshot swap)
+ *  - Persists every loaded graph to a local binary file ({@link BorderGraphFile})
+ *    and starts from that file when present, refreshing from the URL afterwards
+ *  - Builds an immutable, int-indexed CSR graph of land borders
+ *  - Exposes route finding through a pluggable {@link RouteEngine}
+ *    (on-demand BFS or a precomputed all-pairs table, see {@code routing.engine})
+ *  - Caches route results per graph generation in a {@link RouteCache} and
+ *    coalesces identical concurrent misses in a {@link RouteCoalescer}
+ *  - Records query outcomes, search work and load timings in {@link RouteMetrics}
  *
  * Java 25 features used:
- *  - Records (Country, BfsState, RouteResponse)
+ *  - Records (Country, RoutePair, RouteResult, Snapshot, TaggedRoute)
  *  - Virtual threads  (HttpClient backed by Executors.newVirtualThreadPerTaskExecutor)
- *  - Functional style (streams, Function, Predicate composition)
+ *  - Functional style (streams for request grouping and mapping)
  *  - Pattern matching / sealed types ready (open for extension)
  */
 @Service
@@ -40,161 +68,726 @@ public class CountryGraphService {
 
     private static final Logger log = LoggerFactory.getLogger(CountryGraphService.class);
 
-    @Value("${countries.data.url:https://raw.githubusercontent.com/mledoze/countries/master/countries.json}")
-    private String dataUrl;
+    /** Upper bound on {@code k} for {@link #findAlternatives}. */
+    public static final int MAX_ALTERNATIVES = 10;
+
+    /** Upper bound on the number of pairs for {@link #findRoutes}. */
+    public static final int MAX_BATCH_PAIRS = 10_000;
+
+    /** Upper bound on origins x destinations for {@link #findHopMatrix}. */
+    public static final int MAX_MATRIX_CELLS = 100_000;
+
+    // Immutable graph snapshot (interned cca3 codes + CSR adjacency), the engine and the encoded codes built for it
+    private volatile Snapshot borderGraph = new Snapshot(0, BorderGraph.EMPTY,
+            RouteEngineMode.BFS.create(BorderGraph.EMPTY), new RouteJson(BorderGraph.EMPTY));
+
+    // Source of snapshot generations; cached routes are only valid for the generation they were computed on
+    private final AtomicLong generations = new AtomicLong();
+
+    // Reloads (scheduled or manual) are serialised; readers never take this lock
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder unchangedReloads = new LongAdder();
+    private final LongAdder failedReloads = new LongAdder();
+    private volatile long lastReloadMillis;
+
+    // Completed by the first publish; until then queries are refused rather than answered from EMPTY
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private final LongAdder loadAttempts = new LongAdder();
+    private volatile long nextLoadAttemptNanos;
+    private volatile String lastLoadError;
+    private volatile Thread loader;
+
+    private final CountryDataClient dataClient;
+    private final RouteCache routeCache;
+    private final RouteCoalescer routeCoalescer;
+    private final RouteMetrics routeMetrics;
+    private final RouteEngineMode engineMode;
+    private final Path snapshotPath;
+    private final int alternativesMaxExpanded;
+    private final Duration alternativesTimeout;
+    private final Duration loadInitialBackoff;
+    private final Duration loadMaxBackoff;
+
+    public CountryGraphService(
+            CountryDataClient dataClient,
+            RouteCache routeCache,
+            RouteCoalescer routeCoalescer,
+            RouteMetrics routeMetrics,
+            @Value("${routing.engine:bfs}") String engineMode,
+            @Value("${countries.snapshot.path:}") String snapshotPath,
+            @Value("${routing.alternatives.max-expanded:100000}") int alternativesMaxExpanded,
+            @Value("${routing.alternatives.timeout:200ms}") Duration alternativesTimeout,
+            @Value("${countries.load.initial-backoff:1s}") Duration loadInitialBackoff,
+            @Value("${countries.load.max-backoff:1m}") Duration loadMaxBackoff
+    ) {
+        this.dataClient = dataClient;
+        this.routeCache = routeCache;
+        this.routeCoalescer = routeCoalescer;
+        this.routeMetrics = routeMetrics;
+        // parsed here so that a bad routing.engine fails startup instead of every background load
+        this.engineMode = RouteEngineMode.from(engineMode);
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.alternativesMaxExpanded = alternativesMaxExpanded;
+        this.alternativesTimeout = alternativesTimeout;
+        this.loadInitialBackoff = loadInitialBackoff;
+        this.loadMaxBackoff = loadMaxBackoff;
+    }
 
-    // The adjacency map: cca3 -> list of cca3 neighbours
-    private volatile Map<String, List<String>> borderGraph = Map.of();
+    // -------------------------------------------------------------------------
+    // Startup & refresh: load & parse data
+    // -------------------------------------------------------------------------
 
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    /**
+     * Returns without waiting for the network: a local snapshot file is served
+     * at once, otherwise the dataset is loaded on a virtual thread by
+     * {@link #loadWithRetry()} while the context finishes starting.
+     */
+    @PostConstruct
+    void init() {
+        if (loadSnapshotFile()) {
+            // Serve from the local file right away; pick up upstream changes in the background
+            Thread.ofVirtual().name("country-refresh").start(this::refresh);
+            return;
+        }
+        loader = Thread.ofVirtual().name("country-loader").start(this::loadWithRetry);
+    }
 
-    public CountryGraphService(HttpClient httpClient, ObjectMapper objectMapper) {
-        this.httpClient = httpClient;
-        this.objectMapper = objectMapper;
+    @PreDestroy
+    void shutdown() {
+        var thread = loader;
+        if (thread != null) {
+            thread.interrupt();
+        }
     }
-// -------------------------------------------------------------------------
-    // Startup: load & parse data
-    // -------------------------------------------------------------------------
 
-    @PostConstruct
-    void init() throws Exception {
+    /**
+     * Fetch the full dataset until one snapshot is published, by this thread
+     * or by a reload that got there first. The wait between attempts doubles
+     * up to {@code countries.load.max-backoff}, with jitter so that a fleet
+     * restarted together does not retry in lockstep.
+     */
+    void loadWithRetry() {
+        long backoff = loadInitialBackoff.toNanos();
+        while (!isReady()) {
+            loadAttempts.increment();
+            try {
+                loadFromUrl();
+                return;
+            } catch (Exception e) {
+                lastLoadError = e.toString();
+                long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                nextLoadAttemptNanos = System.nanoTime() + delay;
+                log.warn("Failed to load country data (attempt {}), retrying in {} ms",
+                        loadAttempts.sum(), TimeUnit.NANOSECONDS.toMillis(delay), e);
+                backoff = Math.min(backoff * 2, loadMaxBackoff.toNanos());
+                if (!sleep(delay)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void loadFromUrl() throws Exception {
+        reloadLock.lock();
+        try {
+            if (isReady()) {
+                return;
+            }
+            long start = System.nanoTime();
+            var graph = buildGraph(dataClient.fetch());
+            // written before publishing, so a ready node always has its file for the next start
+            saveSnapshotFile(graph);
+            publish(graph);
+            routeMetrics.recordLoad(RouteMetrics.LoadSource.URL, System.nanoTime() - start);
+            log.info("Loaded border graph with {} countries after {} attempt(s)", graph.size(), loadAttempts.sum());
+            lastLoadError = null;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** {@code true} once the first snapshot has been published. */
+    public boolean isReady() {
+        return ready.isDone();
+    }
+
+    /**
+     * Block until the first snapshot is published or {@code timeout} elapses.
+     *
+     * @return whether the service is ready
+     */
+    public boolean awaitReady(Duration timeout) throws InterruptedException {
+        try {
+            ready.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public LoadStatus loadStatus() {
+        var snapshot = borderGraph;
+        return new LoadStatus(isReady(), loadAttempts.sum(), lastLoadError, snapshot.generation(), snapshot.graph().size());
+    }
+
+    @Scheduled(
+            initialDelayString = "${countries.refresh.interval:PT15M}",
+            fixedDelayString = "${countries.refresh.interval:PT15M}"
+    )
+    void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Background reload of country data failed, keeping generation {}", borderGraph.generation(), e);
+        }
+    }
+
+    /**
+     * Re-fetch the dataset with a conditional GET. If it changed, build the new
+     * snapshot on the calling thread and publish it with a single volatile write;
+     * requests keep reading the previous snapshot until then.
+     *
+     * A new dataset is diffed against the live graph (see {@link GraphUpdate}):
+     * when it names the same countries, the structures and cached routes its
+     * changes leave valid are carried over instead of rebuilt, and a dataset
+     * whose routing content did not change at all keeps the live snapshot.
+     */
+    public ReloadResult reload() throws Exception {
+        reloadLock.lock();
+        long start = System.nanoTime();
         try {
-            borderGraph = buildGraph(fetchCountries());
-            log.info("Loaded border graph with {} countries", borderGraph.size());
+            var countries = dataClient.fetchIfModified();
+            var previous = borderGraph;
+            var snapshot = countries.isPresent() ? publish(previous, GraphUpdate.of(previous.graph(), countries.get()))
+                    : previous;
+            boolean changed = snapshot != previous;
+            long nanos = System.nanoTime() - start;
+            long millis = nanos / 1_000_000;
+
+            reloads.increment();
+            lastReloadMillis = millis;
+            routeMetrics.recordReload(changed
+                    ? RouteMetrics.ReloadOutcome.CHANGED
+                    : RouteMetrics.ReloadOutcome.UNCHANGED, nanos);
+            if (changed) {
+                log.info("Reloaded border graph with {} countries in {} ms (generation {})",
+                        snapshot.graph().size(), millis, snapshot.generation());
+                saveSnapshotFile(snapshot.graph());
+            } else {
+                unchangedReloads.increment();
+                log.info(countries.isPresent()
+                        ? "Country data changed without affecting routes, generation kept; reload took {} ms"
+                        : "Country data not modified, reload skipped in {} ms", millis);
+            }
+            return new ReloadResult(changed, snapshot.generation(), snapshot.graph().size(), millis);
         } catch (Exception e) {
-            log.error("Failed to load country data", e);
+            failedReloads.increment();
+            routeMetrics.recordReload(RouteMetrics.ReloadOutcome.FAILED, System.nanoTime() - start);
             throw e;
+        } finally {
+            reloadLock.unlock();
         }
     }
 
+    public ReloadStats reloadStats() {
+        var snapshot = borderGraph;
+        return new ReloadStats(reloads.sum(), unchangedReloads.sum(), failedReloads.sum(), lastReloadMillis,
+                snapshot.generation(), snapshot.graph().size());
+    }
+
     // -------------------------------------------------------------------------
     // Public API
     // -------------------------------------------------------------------------
 
     /**
      * Find the shortest land route from {@code origin} to {@code destination}.
-     * runs BFS on a virtual thread.
+     * runs BFS on a virtual thread. The latency is recorded per outcome.
+     * Countries may be named by any identifier {@link BorderGraph#resolve}
+     * accepts; the route is always in cca3 codes.
      *
      * @return ordered list of cca3 codes from origin to destination (inclusive)
      * @throws NoRouteException if no land route exists or codes are unknown
      */
     public List<String> findRoute(String origin, String destination) {
-        var graph = borderGraph;
+        return findRoute(origin, destination, List.of(), List.of());
+    }
+
+    /**
+     * Shortest land route that never enters a country in {@code avoid} and
+     * passes through every country in {@code via}, in order. Constrained
+     * queries bypass the route cache.
+     *
+     * @throws NoRouteException if no such route exists or codes are unknown
+     * @throws IllegalArgumentException if a country is both required and avoided
+     */
+    public List<String> findRoute(String origin, String destination, List<String> avoid, List<String> via) {
+        return findRoute(origin, destination, avoid, via, RouteMetric.HOPS);
+    }
+
+    /**
+     * As {@link #findRoute(String, String, List, List)}, minimising {@code metric}.
+     * {@link RouteMetric#DISTANCE} runs A* over the capital-to-capital
+     * distances and, like constrained queries, bypasses the route cache.
+     */
+    public List<String> findRoute(String origin, String destination, List<String> avoid, List<String> via,
+                                  RouteMetric metric) {
+        var snapshot = liveSnapshot();
+        return route(snapshot, origin, destination, avoid, via, metric).codes(snapshot.graph());
+    }
+
+    /**
+     * As {@link #findRoute(String, String, List, List, RouteMetric)}, returning
+     * the {@code {"route":[..]}} response body already encoded as UTF-8 JSON
+     * from the codes pre-encoded with the snapshot the route was found on,
+     * with the weak entity tag of the answer on that snapshot (see
+     * {@link RouteETags}). When {@code ifNoneMatch} matches that tag, no search
+     * runs and the body is {@code null}. Only a query that passes its avoid/via
+     * checks and joins countries of one connected component can match: a
+     * pair without a land route has no representation to be current.
+     */
+    public TaggedRoute findRouteJson(String origin, String destination, List<String> avoid, List<String> via,
+                                     RouteMetric metric, String ifNoneMatch) {
+        var snapshot = liveSnapshot();
+        var graph = snapshot.graph();
+        var eTag = RouteETags.of(graph, origin, destination, avoid, via, metric);
+        if (ifNoneMatch != null && eTag != null) {
+            long start = System.nanoTime();
+            checkConstraints(graph, origin, destination, avoid, via);
+            if (mayReach(graph, origin, destination, via) && RouteETags.matches(ifNoneMatch, eTag)) {
+                routeMetrics.recordRoute(RouteMetrics.Outcome.NOT_MODIFIED, System.nanoTime() - start);
+                return new TaggedRoute(eTag, null);
+            }
+        }
+        return new TaggedRoute(eTag, route(snapshot, origin, destination, avoid, via, metric).json(snapshot.json()));
+    }
 
-        validateCountry(graph, origin);
-        validateCountry(graph, destination);
+    private FoundRoute route(Snapshot snapshot, String origin, String destination, List<String> avoid,
+                             List<String> via, RouteMetric metric) {
+        var graph = snapshot.graph();
+        checkConstraints(graph, origin, destination, avoid, via);
 
-        if (origin.equals(destination)) {
-            return List.of(origin);
+        long start = System.nanoTime();
+        var outcome = RouteMetrics.Outcome.UNKNOWN_CODE;
+        try {
+            int from = validateCountry(graph, origin);
+            int to = validateCountry(graph, destination);
+
+            FoundRoute route;
+            boolean constrained = !avoid.isEmpty() || !via.isEmpty();
+            if (!constrained && metric == RouteMetric.HOPS) {
+                outcome = RouteMetrics.Outcome.NO_ROUTE;
+                route = from == to
+                        ? new FoundRoute(new int[] {from}, null)
+                        : new FoundRoute(null, search(snapshot, from, to));
+            } else {
+                var waypoints = new int[via.size() + 2];
+                waypoints[0] = from;
+                for (int i = 0; i < via.size(); i++) {
+                    waypoints[i + 1] = validateCountry(graph, via.get(i));
+                }
+                waypoints[waypoints.length - 1] = to;
+                var excluded = ConstrainedSearch.mask(graph,
+                        avoid.stream().mapToInt(code -> validateCountry(graph, code)).toArray());
+
+                outcome = RouteMetrics.Outcome.NO_ROUTE;
+                var path = metric.shortestPath(graph, waypoints, excluded, routeMetrics);
+                if (path == null) {
+                    var message = noRouteMessage(graph.code(from), graph.code(to));
+                    throw new NoRouteException(constrained ? message + " with the given avoid/via constraints" : message);
+                }
+                route = new FoundRoute(path, null);
+            }
+            outcome = RouteMetrics.Outcome.FOUND;
+            return route;
+        } finally {
+            routeMetrics.recordRoute(outcome, System.nanoTime() - start);
         }
+    }
 
-        return bfs(graph, origin, destination);
+    private static void checkConstraints(BorderGraph graph, String origin, String destination, List<String> avoid,
+                                         List<String> via) {
+        if (!avoid.isEmpty()) {
+            // compared by node id, since the same country may be named by different identifiers
+            var avoided = avoid.stream().mapToInt(graph::resolve).filter(id -> id >= 0).boxed().toList();
+            Validate.isTrue(!avoided.contains(graph.resolve(origin)) && !avoided.contains(graph.resolve(destination)),
+                    "Cannot avoid the origin or the destination");
+            Validate.isTrue(via.stream().map(graph::resolve).noneMatch(avoided::contains),
+                    "Cannot both avoid and pass through a country");
+        }
+    }
 
+    /** O(1) per leg: {@code false} when some leg from origin through {@code via} to destination crosses components. */
+    private static boolean mayReach(BorderGraph graph, String origin, String destination, List<String> via) {
+        int from = graph.resolve(origin);
+        for (var waypoint : via) {
+            int next = graph.resolve(waypoint);
+            if (!graph.mayReach(from, next)) {
+                return false;
+            }
+            from = next;
+        }
+        return graph.mayReach(from, graph.resolve(destination));
     }
 
-    // -------------------------------------------------------------------------
-    // BFS — functional style
-    // -------------------------------------------------------------------------
+    /**
+     * Find the shortest land route for every pair of a batch.
+     *
+     * Pairs are grouped by resolved origin, so aliases of one country share a
+     * group, and each distinct origin runs a single BFS whose tree serves all
+     * destinations of its group; the groups run concurrently on virtual
+     * threads. Failures are reported per pair, naming the codes as given.
+     *
+     * @return one result per pair, in request order
+     * @throws IllegalArgumentException if there are more than {@code MAX_BATCH_PAIRS} pairs
+     */
+    public List<RouteResult> findRoutes(List<RoutePair> pairs) {
+        Validate.isTrue(pairs.size() <= MAX_BATCH_PAIRS, "batch should have at most %d pairs", MAX_BATCH_PAIRS);
+        var snapshot = liveSnapshot();
+        var graph = snapshot.graph();
+
+        // unknown origins all land in group -1
+        var byOrigin = new LinkedHashMap<Integer, List<Integer>>();
+        for (int i = 0; i < pairs.size(); i++) {
+            byOrigin.computeIfAbsent(graph.resolve(pairs.get(i).origin()), from -> new ArrayList<>()).add(i);
+        }
+
+        var results = new RouteResult[pairs.size()];
+        var tasks = new ArrayList<Future<?>>(byOrigin.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            byOrigin.forEach((from, indices) ->
+                    tasks.add(executor.submit(() -> routeFromOrigin(graph, from, indices, pairs, results))));
+            for (var task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while routing batch", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch routing failed", e.getCause());
+        }
+        return List.of(results);
+    }
 
     /**
-     * Breadth-first search over the border graph.
+     * Build the BFS tree from {@code origin} to every country reachable within
+     * {@code maxHops} border crossings, for callers that need all routes from
+     * one origin.
+     *
+     * @throws NoRouteException if the origin code is unknown
      */
-    private List<String> bfs(Map<String, List<String>> graph, String origin, String destination) {
-        var visited = new HashSet<String>();
-        visited.add(origin);
+    public ShortestPathTree findRoutesFrom(String origin, int maxHops) {
+        Validate.isTrue(maxHops >= 0, "maxHops should not be negative");
+        var graph = liveSnapshot().graph();
+        return ShortestPathTree.from(graph, validateCountry(graph, origin), maxHops);
+    }
 
-        // Functional predicate: has this country been visited?
-        Predicate<String> notVisited = Predicate.not(visited::contains);
+    /**
+     * Hop distance from every origin to every destination, computed by
+     * bit-parallel BFS (64 origins per sweep) rather than one search per pair.
+     * Unreachable pairs are {@link HopDistanceMatrix#UNREACHABLE}.
+     *
+     * @throws NoRouteException if any code is unknown
+     * @throws IllegalArgumentException if the matrix would exceed {@code MAX_MATRIX_CELLS}
+     */
+    public HopMatrixResponse findHopMatrix(List<String> origins, List<String> destinations) {
+        Validate.isTrue((long) origins.size() * destinations.size() <= MAX_MATRIX_CELLS,
+                "matrix should have at most %d cells", MAX_MATRIX_CELLS);
+        var graph = liveSnapshot().graph();
+        var from = origins.stream().mapToInt(code -> validateCountry(graph, code)).toArray();
+        var to = destinations.stream().mapToInt(code -> validateCountry(graph, code)).toArray();
+
+        var hops = HopDistanceMatrix.compute(graph, from, to);
+        return new HopMatrixResponse(origins, destinations,
+                Arrays.stream(hops).map(row -> Arrays.stream(row).boxed().toList()).toList());
+    }
 
-        // Functional mapper: given a BfsState, produce all valid next states
-        Function<BfsState, List<BfsState>> expand = state ->
-                graph.getOrDefault(state.country(), List.of())
-                        .stream()
-                        .filter(notVisited)
-                        .peek(visited::add)
-                        .map(state::step)
-                        .collect(Collectors.toList());
+    /**
+     * Up to {@code k} loopless routes from {@code origin} to {@code destination},
+     * fewest crossings first (Yen's algorithm over the live snapshot). All spur
+     * searches share the {@code routing.alternatives.max-expanded} budget and
+     * the {@code routing.alternatives.timeout}; when either runs out the routes
+     * found so far are returned, marked truncated. That may be none at all,
+     * which says nothing about whether a land route exists.
+     *
+     * @throws NoRouteException if no land route exists or codes are unknown
+     * @throws IllegalArgumentException if {@code k} is outside {@code 1..MAX_ALTERNATIVES}
+     */
+    public AlternativesResponse findAlternatives(String origin, String destination, int k) {
+        Validate.isTrue(k >= 1 && k <= MAX_ALTERNATIVES, "k should be between 1 and %d", MAX_ALTERNATIVES);
+        var graph = liveSnapshot().graph();
+        int from = validateCountry(graph, origin);
+        int to = validateCountry(graph, destination);
+
+        var result = new KShortestPaths(graph).find(from, to, k, alternativesMaxExpanded,
+                System.nanoTime() + alternativesTimeout.toNanos(), routeMetrics);
+        if (result.paths().isEmpty() && !result.truncated()) {
+            throw new NoRouteException(noRouteMessage(graph.code(from), graph.code(to)));
+        }
+        if (result.paths().isEmpty()) {
+            log.warn("Alternative routes from {} to {} hit the work limit before the first route", origin, destination);
+        }
+        return new AlternativesResponse(result.paths().stream().map(graph::codes).toList(), result.truncated());
+    }
 
-        // BFS queue seeded with the initial state
-        var queue = new ArrayDeque<BfsState>();
-        queue.add(new BfsState(origin, new ArrayList<>(List.of(origin))));
+    // -------------------------------------------------------------------------
+    // Search — route cache in front of the engine bound to the snapshot
+    // -------------------------------------------------------------------------
 
-        while (!queue.isEmpty()) {
-            var current = queue.poll();
+    /**
+     * Shortest route over the border graph. Pairs in different connected
+     * components are rejected in constant time; the rest are served from the
+     * route cache when possible and from the configured engine otherwise, with
+     * identical concurrent misses coalesced into one search.
+     */
+    private List<String> search(Snapshot snapshot, int origin, int destination) {
+        var graph = snapshot.graph();
+        if (!graph.mayReach(origin, destination)) {
+            throw new NoRouteException(noRouteMessage(graph.code(origin), graph.code(destination)));
+        }
 
-            if (current.country().equals(destination)) {
-                return current.path();
-            }
+        var cached = routeCache.get(snapshot.generation(), origin, destination, graph.isSymmetric());
+
+        List<String> route;
+        if (cached != null) {
+            route = cached.route();
+        } else {
+            route = routeCoalescer.execute(snapshot.generation(), origin, destination, () -> {
+                var path = snapshot.engine().shortestPath(origin, destination, routeMetrics);
+                var found = path == null ? null : graph.codes(path);
+                routeCache.put(snapshot.generation(), origin, destination, found);
+                return found;
+            });
+        }
 
-            queue.addAll(expand.apply(current));
+        if (route == null) {
+            throw new NoRouteException(noRouteMessage(graph.code(origin), graph.code(destination)));
         }
+        return route;
+    }
 
-        throw new NoRouteException(
-                "No land route found from '%s' to '%s'".formatted(origin, destination));
+    /**
+     * Resolve every pair of one origin group against a single shortest-path
+     * tree, built only once some destination shares the origin's component.
+     */
+    private void routeFromOrigin(BorderGraph graph, int from, List<Integer> indices,
+                                 List<RoutePair> pairs, RouteResult[] results) {
+        ShortestPathTree tree = null;
+
+        for (int index : indices) {
+            var origin = pairs.get(index).origin();
+            var destination = pairs.get(index).destination();
+            int to = graph.resolve(destination);
+
+            if (from < 0) {
+                results[index] = RouteResult.failed(origin, destination, unknownCountryMessage(origin));
+            } else if (to < 0) {
+                results[index] = RouteResult.failed(origin, destination, unknownCountryMessage(destination));
+            } else if (!graph.mayReach(from, to)) {
+                results[index] = RouteResult.failed(origin, destination, noRouteMessage(origin, destination));
+            } else {
+                if (tree == null) {
+                    tree = ShortestPathTree.from(graph, from);
+                }
+                results[index] = tree.isReachable(to)
+                        ? RouteResult.found(origin, destination, graph.codes(tree.pathTo(to)))
+                        : RouteResult.failed(origin, destination, noRouteMessage(origin, destination));
+            }
+        }
     }
 
     // -------------------------------------------------------------------------
-    // Graph construction — pure functional pipeline
+    // Graph construction — interned codes + CSR adjacency
     // -------------------------------------------------------------------------
 
-    private Map<String, List<String>> buildGraph(List<Country> countries) {
-        return countries.stream()
-                .filter(c -> c.cca3() != null && !c.cca3().isBlank())
-                .collect(Collectors.toUnmodifiableMap(
-                        Country::cca3,
-                        Country::borders,
-                        (a, b) -> a   // merge function: keep first on duplicate key
-                ));
+    /** Build a complete snapshot off to the side, then swap it in with one volatile write. */
+    private Snapshot publish(BorderGraph graph) {
+        return publish(graph, buildEngine(graph), new RouteJson(graph));
     }
 
-    // -------------------------------------------------------------------------
-    // HTTP fetch — virtual-thread HttpClient
-    // -------------------------------------------------------------------------
+    private Snapshot publish(BorderGraph graph, RouteEngine engine, RouteJson json) {
+        return publish(new Snapshot(generations.incrementAndGet(), graph, engine, json));
+    }
 
-    private List<Country> fetchCountries() throws Exception {
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(dataUrl))
-                    .GET()
-                    .build();
+    private Snapshot publish(Snapshot snapshot) {
+        borderGraph = snapshot;
+        ready.complete(null);
+        routeMetrics.published(snapshot.generation(), snapshot.graph().size());
+        return snapshot;
+    }
 
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Publish the graph of {@code update}, which replaces the one of
+     * {@code previous}. The engine is updated rather than rebuilt, and the
+     * cached results of {@code previous} that the update leaves valid are
+     * moved to the new generation just before the new snapshot goes live. An
+     * update that changes no route answer, identifiers included, publishes
+     * nothing.
+     */
+    private Snapshot publish(Snapshot previous, GraphUpdate update) {
+        var graph = update.graph();
+        if (isReady() && graph.version() == previous.graph().version()) {
+            return previous;
+        }
+        if (!update.isIncremental()) {
+            return publish(graph);
+        }
 
-            if (response.statusCode() != 200) {
-                throw new RuntimeException("Unexpected HTTP status: " + response.statusCode());
-            }
+        var engine = engineMode.update(previous.engine(), update);
+        if (engine instanceof AllPairsRouteTable table) {
+            log.info("Updated all-pairs route table: {} of {} rows searched again in {} ms",
+                    table.rebuiltRows(), graph.size(), table.buildMillis());
+        }
+        var snapshot = new Snapshot(generations.incrementAndGet(), graph, engine, previous.json().carriedTo(graph));
+
+        // Before the new generation is live: a lookup on it would drop the older entries not yet carried over.
+        // Readers still on the previous generation miss the carried entries meanwhile, and cannot overwrite them.
+        int carried = routeCache.carryForward(previous.generation(), snapshot.generation(),
+                (origin, destination, route) -> update.keepsRoute(origin, destination, path(graph, route)));
+        publish(snapshot);
+        log.info("Border graph updated in place: {} countries changed borders (+{} / -{} edges), {} cached routes kept",
+                update.changedCountries(), update.addedBorders(), update.removedBorders(), carried);
+        return snapshot;
+    }
 
-            // Parse into raw maps first (JSON has nested objects we don't need)
-            List<Map<String, Object>> raw = objectMapper.readValue(
-                    response.body(),
-                    new TypeReference<>() {}
-            );
+    private static int[] path(BorderGraph graph, List<String> route) {
+        return route == null ? null : route.stream().mapToInt(graph::idOf).toArray();
+    }
 
-            // Functional pipeline: raw map → Country record
-            return raw.stream()
-                    .map(this::toCountry)
-                    .collect(Collectors.toList());
+    private BorderGraph buildGraph(List<Country> countries) {
+        return BorderGraph.of(countries);
     }
 
-    private Country toCountry(Map<String, Object> raw) {
-        String cca3 = (String) raw.get("cca3");
+    private RouteEngine buildEngine(BorderGraph graph) {
+        var engine = engineMode.create(graph);
+        if (engine instanceof AllPairsRouteTable table) {
+            log.info("Built all-pairs route table for {} countries in {} ms ({} KiB)",
+                    graph.size(), table.buildMillis(), table.footprintBytes() / 1024);
+        } else {
+            log.info("Using {} route engine", engineMode.name().toLowerCase(Locale.ROOT));
+        }
+        return engine;
+    }
 
-        var borders = Optional.ofNullable(raw.get("borders"))
-                .filter(b -> b instanceof List<?>)
-                .map(b -> (List<String>) b)
-                .orElse(List.of());
+    // -------------------------------------------------------------------------
+    // Local snapshot file
+    // -------------------------------------------------------------------------
 
-        return new Country(cca3, borders);
+    /** @return {@code true} if a valid snapshot file was found and published */
+    private boolean loadSnapshotFile() {
+        if (snapshotPath == null || !Files.isReadable(snapshotPath)) {
+            return false;
+        }
+        try {
+            long start = System.nanoTime();
+            var graph = publish(BorderGraphFile.read(snapshotPath)).graph();
+            long nanos = System.nanoTime() - start;
+            routeMetrics.recordLoad(RouteMetrics.LoadSource.FILE, nanos);
+            log.info("Loaded border graph with {} countries from {} in {} ms",
+                    graph.size(), snapshotPath, nanos / 1_000_000);
+            return true;
+        } catch (Exception e) {
+            log.warn("Ignoring unusable graph snapshot {}", snapshotPath, e);
+            return false;
+        }
     }
 
+    private void saveSnapshotFile(BorderGraph graph) {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            BorderGraphFile.write(graph, snapshotPath);
+        } catch (Exception e) {
+            log.warn("Could not write graph snapshot {}", snapshotPath, e);
+        }
+    }
 
     // -------------------------------------------------------------------------
     // Helpers
     // -------------------------------------------------------------------------
 
-    private void validateCountry(Map<String, List<String>> graph, String code) {
-        if (!graph.containsKey(code)) {
-            throw new NoRouteException("Unknown country code: '%s'".formatted(code));
+    /** A graph snapshot together with the route engine built for it — swapped as one unit. */
+    private record Snapshot(long generation, BorderGraph graph, RouteEngine engine, RouteJson json) {}
+
+    /**
+     * A route as it was found: node ids straight from a search, or codes from
+     * the route cache. Exactly one is set; each is encoded without going
+     * through the other.
+     */
+    private record FoundRoute(int[] path, List<String> codes) {
+
+        List<String> codes(BorderGraph graph) {
+            return codes != null ? codes : graph.codes(path);
+        }
+
+        byte[] json(RouteJson json) {
+            return path != null ? json.route(path) : json.route(codes);
+        }
+    }
+
+    /**
+     * An encoded route and its entity tag. A {@code null} body means the
+     * client's copy is current; a {@code null} tag, that a country did not
+     * resolve and the query is about to fail.
+     */
+    public record TaggedRoute(String eTag, byte[] json) {
+
+        public boolean notModified() {
+            return json == null;
+        }
+    }
+
+    /** Initial load progress: attempts so far and the last failure, until a snapshot is live. */
+    public record LoadStatus(boolean ready, long attempts, String lastError, long generation, int countries) {}
+
+    /** Outcome of one reload: whether a new snapshot was published, and which one is live. */
+    public record ReloadResult(boolean changed, long generation, int countries, long durationMillis) {}
+
+    /** Reload counters since startup and the live snapshot. */
+    public record ReloadStats(long reloads, long unchanged, long failures, long lastDurationMillis,
+                              long generation, int countries) {}
+
+    /**
+     * The snapshot queries run on.
+     *
+     * @throws GraphNotReadyException before the first snapshot is published
+     */
+    private Snapshot liveSnapshot() {
+        var snapshot = borderGraph;
+        if (snapshot.generation() == 0) {
+            long wait = nextLoadAttemptNanos - System.nanoTime();
+            throw new GraphNotReadyException("Country data is still loading",
+                    Duration.ofSeconds(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+        }
+        return snapshot;
+    }
+
+    private int validateCountry(BorderGraph graph, String code) {
+        int id = graph.resolve(code);
+        if (id < 0) {
+            throw new NoRouteException(unknownCountryMessage(code));
         }
+        return id;
+    }
+
+    private static String unknownCountryMessage(String code) {
+        return "Unknown country code: '%s'".formatted(code);
+    }
+
+    private static String noRouteMessage(String origin, String destination) {
+        return "No land route found from '%s' to '%s'".formatted(origin, destination);
     }
 }
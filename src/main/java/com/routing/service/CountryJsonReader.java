@@ -0,0 +1,174 @@
+package com.routing.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streaming reader for the countries.json array.
+ *
+ * Walks the token stream with a Jackson {@link JsonParser}, keeps only the
+ * fields the graph needs ({@code cca3}, {@code borders}, the capital's
+ * position and the identifiers requests may use instead of cca3) and skips
+ * every other subtree without materialising it, so memory use does not
+ * depend on the size of the fields being ignored and countries can be
+ * handed on one at a time.
+ */
+public final class CountryJsonReader {
+
+    private final JsonFactory jsonFactory;
+
+    public CountryJsonReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /** Read the whole array into a list. */
+    public List<Country> read(InputStream in) throws IOException {
+        var countries = new ArrayList<Country>();
+        read(in, countries::add);
+        return countries;
+    }
+
+    /** Read the array, handing each country to {@code sink} as soon as its object is closed. */
+    public void read(InputStream in, Consumer<Country> sink) throws IOException {
+        try (var parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of countries");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                sink.accept(readCountry(parser));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected a country object but got " + token);
+            }
+        }
+    }
+
+    private Country readCountry(JsonParser parser) throws IOException {
+        String cca3 = null;
+        String cca2 = null;
+        String ccn3 = null;
+        String cioc = null;
+        String name = null;
+        List<String> borders = List.of();
+        Coordinates capital = null;
+        Coordinates centre = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+            switch (field) {
+                case "cca3" -> cca3 = readString(parser, value);
+                case "cca2" -> cca2 = readString(parser, value);
+                case "ccn3" -> ccn3 = readString(parser, value);
+                case "cioc" -> cioc = readString(parser, value);
+                case "name" -> name = readCommonName(parser, value);
+                case "borders" -> borders = readStrings(parser, value);
+                case "latlng" -> centre = readLatLng(parser, value);
+                case "capitalInfo" -> capital = readCapitalInfo(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        // a few territories have no capital position; their centre is the next best point
+        var aliases = Stream.of(cca2, ccn3, cioc, name).filter(Objects::nonNull).toList();
+        return new Country(cca3, borders, capital != null ? capital : centre, aliases);
+    }
+
+    /** The text of a string value, or {@code null} (skipping the value) for anything else. */
+    private String readString(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private String readCommonName(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String common = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var next = parser.nextToken();
+            if (field.equals("common")) {
+                common = readString(parser, next);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return common;
+    }
+
+    private Coordinates readCapitalInfo(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Coordinates capital = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var next = parser.nextToken();
+            if (field.equals("latlng")) {
+                capital = readLatLng(parser, next);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return capital;
+    }
+
+    /** A {@code [latitude, longitude]} pair, or {@code null} if the value is anything else. */
+    private Coordinates readLatLng(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        var numbers = new double[2];
+        int count = 0;
+        boolean valid = true;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token.isNumeric() && count < numbers.length) {
+                numbers[count++] = parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+                valid = false;
+            }
+        }
+        if (!valid || count != 2 || Math.abs(numbers[0]) > 90 || Math.abs(numbers[1]) > 180) {
+            return null;
+        }
+        return new Coordinates(numbers[0], numbers[1]);
+    }
+
+    private List<String> readStrings(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+        var strings = new ArrayList<String>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_STRING) {
+                strings.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return strings;
+    }
+}
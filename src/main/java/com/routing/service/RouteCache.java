@@ -0,0 +1,231 @@
+package com.routing.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, concurrent cache of route results keyed by (origin id, destination id).
+ *
+ * Every entry is tagged with the generation of the graph snapshot it was
+ * computed on; a lookup with a newer generation treats it as a miss, so
+ * publishing a new snapshot invalidates the whole cache without a global lock
+ * or a flush. Negative results ("no land route") are cached as well. After
+ * an incremental update, {@link #carryForward} re-tags the entries the new
+ * snapshot leaves valid instead.
+ *
+ * The key space is split over lock-striped segments, each an access-ordered
+ * {@link LinkedHashMap} evicting its least recently used entry when full.
+ */
+@Component
+public class RouteCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final boolean enabled;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder reverseHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RouteCache(@Value("${routing.cache.size:10000}") int capacity) {
+        this.enabled = capacity > 0;
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Look up a cached result for {@code generation}.
+     *
+     * When the graph is symmetric and only the opposite direction is cached,
+     * that route is reversed, stored for this direction and returned.
+     *
+     * @return the cached entry, or {@code null} on a miss
+     */
+    public Entry get(long generation, int origin, int destination, boolean symmetric) {
+        if (!enabled) {
+            return null;
+        }
+
+        var entry = segmentFor(origin, destination).get(generation, key(origin, destination));
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+
+        if (symmetric) {
+            var opposite = segmentFor(destination, origin).get(generation, key(destination, origin));
+            if (opposite != null) {
+                reverseHits.increment();
+                var reversed = new Entry(generation, reverse(opposite.route()));
+                segmentFor(origin, destination).put(key(origin, destination), reversed);
+                return reversed;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /** Cache {@code route} for the pair; a {@code null} route records that no land route exists. */
+    public void put(long generation, int origin, int destination, List<String> route) {
+        if (enabled) {
+            segmentFor(origin, destination).put(key(origin, destination), new Entry(generation, route));
+        }
+    }
+
+    /**
+     * Move the entries of generation {@code from} that {@code filter} accepts to
+     * generation {@code to}, and drop every other entry older than {@code to}.
+     * Entries already cached for {@code to} are left alone.
+     *
+     * @return the number of entries carried forward
+     */
+    public int carryForward(long from, long to, RouteFilter filter) {
+        int carried = 0;
+        if (enabled) {
+            for (var segment : segments) {
+                carried += segment.carryForward(from, to, filter);
+            }
+        }
+        return carried;
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (var segment : segments) {
+            size += segment.size();
+        }
+        return new Stats(hits.sum(), reverseHits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segmentFor(int origin, int destination) {
+        return segments[(origin * 31 + destination) & (SEGMENTS - 1)];
+    }
+
+    private static long key(int origin, int destination) {
+        return (long) origin << 32 | destination;
+    }
+
+    private static List<String> reverse(List<String> route) {
+        if (route == null) {
+            return null;
+        }
+        var reversed = new String[route.size()];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = route.get(reversed.length - 1 - i);
+        }
+        return List.of(reversed);
+    }
+
+    /** A cached result; {@code route} is {@code null} when no land route exists. */
+    public record Entry(long generation, List<String> route) {
+
+        public boolean isNoRoute() {
+            return route == null;
+        }
+    }
+
+    /** Decides which cached results survive a new snapshot; {@code route} is {@code null} for "no land route". */
+    @FunctionalInterface
+    public interface RouteFilter {
+
+        boolean keeps(int origin, int destination, List<String> route);
+    }
+
+    /** Counters since startup plus the current number of entries (including stale ones). */
+    public record Stats(long hits, long reverseHits, long misses, long evictions, long size) {}
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Entry> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        Entry get(long generation, long key) {
+            lock.lock();
+            try {
+                var entry = entries.get(key);
+                if (entry != null && entry.generation() != generation) {
+                    // a lookup still on an older snapshot must not drop an entry carried forward
+                    if (entry.generation() < generation) {
+                        entries.remove(key);
+                    }
+                    return null;
+                }
+                return entry;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(long key, Entry entry) {
+            lock.lock();
+            try {
+                var existing = entries.get(key);
+                if (existing == null || existing.generation() <= entry.generation()) {
+                    entries.put(key, entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int carryForward(long from, long to, RouteFilter filter) {
+            lock.lock();
+            try {
+                int carried = 0;
+                for (var iterator = entries.entrySet().iterator(); iterator.hasNext(); ) {
+                    var cached = iterator.next();
+                    var entry = cached.getValue();
+                    if (entry.generation() >= to) {
+                        continue;
+                    }
+                    long key = cached.getKey();
+                    if (entry.generation() == from
+                            && filter.keeps((int) (key >>> 32), (int) key, entry.route())) {
+                        // setValue does not count as an access, so the LRU order is kept
+                        cached.setValue(new Entry(to, entry.route()));
+                        carried++;
+                    } else {
+                        iterator.remove();
+                    }
+                }
+                return carried;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
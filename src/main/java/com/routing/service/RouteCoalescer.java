@@ -0,0 +1,87 @@
+package com.routing.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer in front of the route engine.
+ *
+ * Concurrent requests for the same (generation, origin, destination) share
+ * one search: the first caller (the leader) registers a
+ * {@link CompletableFuture} and runs the search on its own thread, later
+ * callers (followers) find the future and wait for it, then get the same
+ * route, the same "no route" answer or the same exception. The entry is
+ * removed once the search completes, so it never holds results; the
+ * {@link RouteCache} does that.
+ *
+ * Followers block in {@link CompletableFuture#join()}, which parks rather
+ * than holding a monitor, so a waiting virtual thread releases its carrier.
+ */
+@Component
+public class RouteCoalescer {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<List<String>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    /**
+     * Run {@code search} for the pair, or wait for the identical search already in flight.
+     *
+     * @return the route, or {@code null} if no land route exists
+     */
+    public List<String> execute(long generation, int origin, int destination, Supplier<List<String>> search) {
+        var key = new Key(generation, origin, destination);
+        var future = new CompletableFuture<List<String>>();
+        var running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            followers.increment();
+            return await(running);
+        }
+
+        leaders.increment();
+        try {
+            var route = search.get();
+            future.complete(route);
+            return route;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(leaders.sum(), followers.sum(), inFlight.size());
+    }
+
+    private static List<String> await(CompletableFuture<List<String>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // rethrow what the leader threw, e.g. NoRouteException, rather than the wrapper
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(long generation, int origin, int destination) {}
+
+    /**
+     * Searches run (leaders), requests that joined one instead (followers) and
+     * searches in flight right now.
+     */
+    public record Stats(long leaders, long followers, int inFlight) {}
+}
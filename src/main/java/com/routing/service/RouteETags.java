@@ -0,0 +1,102 @@
+package com.routing.service;
+
+import com.routing.graph.BorderGraph;
+import com.routing.graph.RouteMetric;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Entity tags for route answers and {@code If-None-Match} matching.
+ *
+ * A tag is {@code W/"<graph version>-<origin>-<destination>"}, in canonical
+ * cca3 codes so every identifier of a country yields the same tag, followed
+ * by the metric when it is not hops and by a hash of the avoid set and the
+ * via list when there are any. Tags are weak: equal-length routes may be
+ * chosen differently (by another engine, or by reversing a cached reverse
+ * route), but any of them answers the query.
+ */
+final class RouteETags {
+
+    private RouteETags() {
+    }
+
+    /** @return the tag of the query on {@code graph}, or {@code null} if a country does not resolve */
+    static String of(BorderGraph graph, String origin, String destination, List<String> avoid, List<String> via,
+                     RouteMetric metric) {
+        int from = graph.resolve(origin);
+        int to = graph.resolve(destination);
+        if (from < 0 || to < 0) {
+            return null;
+        }
+        var tag = hex(new StringBuilder(48).append("W/\""), graph.version(), 16)
+                .append('-').append(graph.code(from))
+                .append('-').append(graph.code(to));
+        if (metric != RouteMetric.HOPS) {
+            tag.append('-').append(metric.name().toLowerCase(Locale.ROOT));
+        }
+        if (!avoid.isEmpty() || !via.isEmpty()) {
+            var avoided = resolve(graph, avoid);
+            var passed = resolve(graph, via);
+            if (avoided == null || passed == null) {
+                return null;
+            }
+            // avoid is a set, via is ordered
+            hex(tag.append('-'), hash(Arrays.stream(avoided).sorted().distinct().toArray(), passed), 8);
+        }
+        return tag.append('"').toString();
+    }
+
+    /** FNV-1a over both id lists, each preceded by its length. */
+    private static int hash(int[] avoided, int[] passed) {
+        int hash = 0x811c9dc5;
+        for (var ids : new int[][] {avoided, passed}) {
+            hash = (hash ^ ids.length) * 0x01000193;
+            for (int id : ids) {
+                hash = (hash ^ id) * 0x01000193;
+            }
+        }
+        return hash;
+    }
+
+    private static StringBuilder hex(StringBuilder out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(Character.forDigit((int) (value >>> shift) & 0xf, 16));
+        }
+        return out;
+    }
+
+    private static int[] resolve(BorderGraph graph, List<String> identifiers) {
+        var ids = new int[identifiers.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = graph.resolve(identifiers.get(i));
+            if (ids[i] < 0) {
+                return null;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Weak comparison of {@code eTag} with each tag of an {@code If-None-Match}
+     * header, which may list several or be {@code *}.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        var opaque = opaque(eTag);
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.strip();
+            if (tag.equals("*") || opaque(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
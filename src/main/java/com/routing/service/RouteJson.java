@@ -0,0 +1,126 @@
+package com.routing.service;
+
+import com.routing.graph.BorderGraph;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Route and error bodies written straight to bytes, bypassing Jackson on
+ * the hot path.
+ *
+ * Every country code of a snapshot is encoded once as a quoted UTF-8 JSON
+ * string, so a {@code {"route":[..]}} body is a few array copies into a
+ * buffer sized exactly up front. A path of node ids indexes those literals
+ * directly; a cached route of codes looks each one up once. Error bodies reuse the pre-encoded
+ * {@code {"error":..}} envelope and only escape the message.
+ */
+public final class RouteJson {
+
+    private static final byte[] ROUTE_START = ascii("{\"route\":[");
+    private static final byte[] ROUTE_END = ascii("]}");
+    private static final byte[] ERROR_START = ascii("{\"error\":");
+    private static final byte[] ERROR_END = ascii("}");
+    private static final byte COMMA = ',';
+
+    private final BorderGraph graph;
+
+    // Quoted, escaped UTF-8 literal of each node's code, indexed by node id
+    private final byte[][] codes;
+
+    public RouteJson(BorderGraph graph) {
+        this.graph = graph;
+        this.codes = new byte[graph.size()][];
+        for (int id = 0; id < codes.length; id++) {
+            codes[id] = string(graph.code(id));
+        }
+    }
+
+    private RouteJson(BorderGraph graph, byte[][] codes) {
+        this.graph = graph;
+        this.codes = codes;
+    }
+
+    /** The encoder for {@code graph}, which interns the same codes in the same order; literals are shared. */
+    RouteJson carriedTo(BorderGraph graph) {
+        return new RouteJson(graph, codes);
+    }
+
+    /** {@code {"route":["CZE","AUT",..]}} for a path of this snapshot's node ids. */
+    public byte[] route(int[] path) {
+        var literals = new byte[path.length][];
+        for (int i = 0; i < path.length; i++) {
+            literals[i] = codes[path[i]];
+        }
+        return route(literals);
+    }
+
+    /** {@code {"route":["CZE","AUT",..]}}; codes unknown to this snapshot are encoded on the fly. */
+    public byte[] route(List<String> route) {
+        var literals = new byte[route.size()][];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = literal(route.get(i));
+        }
+        return route(literals);
+    }
+
+    private static byte[] route(byte[][] literals) {
+        int length = ROUTE_START.length + ROUTE_END.length + Math.max(literals.length - 1, 0);
+        for (var literal : literals) {
+            length += literal.length;
+        }
+
+        var body = new byte[length];
+        int position = put(ROUTE_START, body, 0);
+        for (int i = 0; i < literals.length; i++) {
+            if (i > 0) {
+                body[position++] = COMMA;
+            }
+            position = put(literals[i], body, position);
+        }
+        put(ROUTE_END, body, position);
+        return body;
+    }
+
+    /** {@code {"error":"<message>"}} */
+    public static byte[] error(String message) {
+        var literal = string(message);
+        var body = new byte[ERROR_START.length + literal.length + ERROR_END.length];
+        put(ERROR_END, body, put(literal, body, put(ERROR_START, body, 0)));
+        return body;
+    }
+
+    private byte[] literal(String code) {
+        int id = graph.idOf(code);
+        return id >= 0 ? codes[id] : string(code);
+    }
+
+    /** {@code value} as a quoted JSON string in UTF-8. */
+    static byte[] string(String value) {
+        var json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xf, 16));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int put(byte[] source, byte[] target, int position) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,147 @@
+package com.routing.service;
+
+import com.routing.graph.SearchObserver;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of the routing hot path and of graph loads.
+ *
+ * Every meter is registered once, up front; recording then only indexes a
+ * field or an array by enum ordinal and passes primitives, so instrumenting a
+ * route query allocates nothing. Exposed through Actuator at
+ * {@code /actuator/metrics} and {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code routing.route} — findRoute latency, tagged {@code outcome=found|no_route|unknown_code|not_modified}</li>
+ *   <li>{@code routing.search.expanded}, {@code routing.search.frontier.peak} — work per engine search</li>
+ *   <li>{@code routing.graph.load} ({@code source=url|file}), {@code routing.graph.reload}
+ *       ({@code result=changed|unchanged|failed}) — graph build timings</li>
+ *   <li>{@code routing.graph.countries}, {@code routing.graph.generation} — the live snapshot</li>
+ *   <li>{@code routing.cache.requests} ({@code result=hit|reverse_hit|miss}), {@code routing.cache.evictions},
+ *       {@code routing.cache.size} — bound to the {@link RouteCache} counters</li>
+ *   <li>{@code routing.coalesce.requests} ({@code role=leader|follower}), {@code routing.coalesce.inflight}
+ *       — bound to the {@link RouteCoalescer} counters</li>
+ * </ul>
+ */
+@Component
+public class RouteMetrics implements SearchObserver {
+
+    public enum Outcome { FOUND, NO_ROUTE, UNKNOWN_CODE, NOT_MODIFIED }
+
+    public enum LoadSource { URL, FILE }
+
+    public enum ReloadOutcome { CHANGED, UNCHANGED, FAILED }
+
+    private final Timer[] routeTimers;
+    private final Timer[] loadTimers;
+    private final Timer[] reloadTimers;
+    private final DistributionSummary expanded;
+    private final DistributionSummary peakFrontier;
+
+    private volatile long countries;
+    private volatile long generation;
+
+    public RouteMetrics(MeterRegistry registry, RouteCache routeCache, RouteCoalescer routeCoalescer) {
+        this.routeTimers = new Timer[Outcome.values().length];
+        for (var outcome : Outcome.values()) {
+            routeTimers[outcome.ordinal()] = Timer.builder("routing.route")
+                    .description("Route query latency by outcome")
+                    .tag("outcome", tagValue(outcome))
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        this.loadTimers = new Timer[LoadSource.values().length];
+        for (var source : LoadSource.values()) {
+            loadTimers[source.ordinal()] = Timer.builder("routing.graph.load")
+                    .description("Startup graph load time by source")
+                    .tag("source", tagValue(source))
+                    .register(registry);
+        }
+        this.reloadTimers = new Timer[ReloadOutcome.values().length];
+        for (var result : ReloadOutcome.values()) {
+            reloadTimers[result.ordinal()] = Timer.builder("routing.graph.reload")
+                    .description("Dataset reload time by result")
+                    .tag("result", tagValue(result))
+                    .register(registry);
+        }
+
+        this.expanded = DistributionSummary.builder("routing.search.expanded")
+                .description("Nodes expanded per engine search")
+                .baseUnit("nodes")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.peakFrontier = DistributionSummary.builder("routing.search.frontier.peak")
+                .description("Largest frontier per engine search")
+                .baseUnit("nodes")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        Gauge.builder("routing.graph.countries", this, metrics -> metrics.countries)
+                .description("Countries in the live graph snapshot")
+                .register(registry);
+        Gauge.builder("routing.graph.generation", this, metrics -> metrics.generation)
+                .description("Generation of the live graph snapshot")
+                .register(registry);
+
+        FunctionCounter.builder("routing.cache.requests", routeCache, cache -> cache.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("routing.cache.requests", routeCache, cache -> cache.stats().reverseHits())
+                .tag("result", "reverse_hit")
+                .register(registry);
+        FunctionCounter.builder("routing.cache.requests", routeCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("routing.cache.evictions", routeCache, cache -> cache.stats().evictions())
+                .register(registry);
+        Gauge.builder("routing.cache.size", routeCache, cache -> cache.stats().size())
+                .register(registry);
+
+        FunctionCounter.builder("routing.coalesce.requests", routeCoalescer, coalescer -> coalescer.stats().leaders())
+                .description("Cache misses that ran a search")
+                .tag("role", "leader")
+                .register(registry);
+        FunctionCounter.builder("routing.coalesce.requests", routeCoalescer, coalescer -> coalescer.stats().followers())
+                .description("Cache misses that joined an identical search already in flight")
+                .tag("role", "follower")
+                .register(registry);
+        Gauge.builder("routing.coalesce.inflight", routeCoalescer, coalescer -> coalescer.stats().inFlight())
+                .register(registry);
+    }
+
+    public void recordRoute(Outcome outcome, long nanos) {
+        routeTimers[outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void searched(int expandedNodes, int peakFrontierNodes) {
+        expanded.record(expandedNodes);
+        peakFrontier.record(peakFrontierNodes);
+    }
+
+    public void recordLoad(LoadSource source, long nanos) {
+        loadTimers[source.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReload(ReloadOutcome result, long nanos) {
+        reloadTimers[result.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Track the snapshot that was just made live. */
+    public void published(long generation, int countries) {
+        this.generation = generation;
+        this.countries = countries;
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
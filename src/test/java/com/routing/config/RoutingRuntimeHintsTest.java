@@ -0,0 +1,44 @@
+package com.routing.config;
+
+import com.routing.model.BatchRouteRequest;
+import com.routing.model.HopMatrixResponse;
+import com.routing.model.RoutePair;
+import com.routing.model.RouteResult;
+import com.routing.service.CountryGraphService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutingRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new RoutingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterRequestAndResponseRecords() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(BatchRouteRequest.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(HopMatrixResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(CountryGraphService.ReloadResult.class)).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterNestedRecordsThroughTheirContainers() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(RoutePair.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(RouteResult.class)).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterPackagePrivateErrorResponse() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(RoutingRuntimeHints.ERROR_RESPONSE)))
+                .accepts(hints);
+    }
+}
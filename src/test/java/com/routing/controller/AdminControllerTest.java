@@ -0,0 +1,100 @@
+package com.routing.controller;
+
+import com.routing.service.CountryGraphService;
+import com.routing.service.RouteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdminControllerTest {
+
+    @Mock
+    private CountryGraphService countryGraphService;
+
+    private RouteCache routeCache;
+    private AdminController adminController;
+
+    @BeforeEach
+    void setUp() {
+        routeCache = new RouteCache(100);
+        adminController = new AdminController(routeCache, countryGraphService);
+    }
+
+    @Nested
+    class CacheStats {
+
+        @Test
+        void shouldReturnCurrentCounters() {
+            // given
+            routeCache.put(1, 0, 1, List.of("CZE", "AUT"));
+            routeCache.get(1, 0, 1, false);
+            routeCache.get(1, 1, 2, false);
+
+            // when
+            var response = adminController.getCacheStats();
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().hits()).isEqualTo(1);
+            assertThat(response.getBody().misses()).isEqualTo(1);
+            assertThat(response.getBody().size()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class Reload {
+
+        @Test
+        void shouldReturnReloadResult() throws Exception {
+            // given
+            var result = new CountryGraphService.ReloadResult(true, 2, 250, 40);
+            when(countryGraphService.reload()).thenReturn(result);
+
+            // when
+            var response = adminController.reload();
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isEqualTo(result);
+        }
+
+        @Test
+        void shouldReturnBadGatewayWhenReloadFails() throws Exception {
+            // given
+            when(countryGraphService.reload()).thenThrow(new IOException("connection reset"));
+
+            // when
+            var response = adminController.reload();
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+            assertThat(response.getBody())
+                    .isEqualTo(new RoutingController.ErrorResponse("Reload failed: connection reset"));
+        }
+
+        @Test
+        void shouldReturnReloadStats() {
+            // given
+            var stats = new CountryGraphService.ReloadStats(3, 2, 0, 12, 2, 250);
+            when(countryGraphService.reloadStats()).thenReturn(stats);
+
+            // when
+            var response = adminController.getReloadStats();
+
+            // then
+            assertThat(response.getBody()).isEqualTo(stats);
+        }
+    }
+}
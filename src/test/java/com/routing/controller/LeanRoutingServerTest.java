@@ -0,0 +1,176 @@
+package com.routing.controller;
+
+import com.routing.exception.GraphNotReadyException;
+import com.routing.exception.NoRouteException;
+import com.routing.graph.RouteMetric;
+import com.routing.service.CountryGraphService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeanRoutingServerTest {
+
+    private static final String CACHE_CONTROL = "public, max-age=300";
+    private static final String ETAG = "W/\"00000000000000ff-CZE-ITA\"";
+
+    @Mock
+    private CountryGraphService countryGraphService;
+
+    private LeanRoutingServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new LeanRoutingServer(countryGraphService, 0, CACHE_CONTROL);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws Exception {
+        return send(HttpRequest.newBuilder(uri(pathAndQuery)).build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static CountryGraphService.TaggedRoute tagged(String body) {
+        return new CountryGraphService.TaggedRoute(ETAG, body.getBytes());
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + server.port() + pathAndQuery);
+    }
+
+    @Test
+    void shouldServeRouteBody() throws Exception {
+        // given
+        when(countryGraphService.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null))
+                .thenReturn(tagged("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}"));
+
+        // when
+        var response = get("/routing/CZE/ITA");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).contains("application/json");
+        assertThat(response.body()).isEqualTo("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}");
+        assertThat(response.headers().firstValue("ETag")).contains(ETAG);
+        assertThat(response.headers().firstValue("Cache-Control")).contains(CACHE_CONTROL);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenTagMatches() throws Exception {
+        // given
+        when(countryGraphService.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, ETAG))
+                .thenReturn(new CountryGraphService.TaggedRoute(ETAG, null));
+
+        // when
+        var response = send(HttpRequest.newBuilder(uri("/routing/CZE/ITA")).header("If-None-Match", ETAG).build());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(304);
+        assertThat(response.headers().firstValue("ETag")).contains(ETAG);
+        assertThat(response.body()).isEmpty();
+    }
+
+    @Test
+    void shouldDecodePathAndQueryParameters() throws Exception {
+        // given
+        when(countryGraphService.findRouteJson("Czech Republic", "ITA", List.of("DEU", "CHE", "SVN"), List.of("HUN"), RouteMetric.DISTANCE, null))
+                .thenReturn(tagged("{\"route\":[]}"));
+
+        // when
+        var response = get("/routing/Czech%20Republic/ITA?avoid=DEU,CHE&via=HUN&avoid=SVN&metric=distance&unused=1");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenNoRoute() throws Exception {
+        // given
+        when(countryGraphService.findRouteJson(anyString(), anyString(), anyList(), anyList(), any(), any()))
+                .thenThrow(new NoRouteException("No land route found from 'JPN' to 'KOR'"));
+
+        // when
+        var response = get("/routing/JPN/KOR");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).isEqualTo("{\"error\":\"No land route found from 'JPN' to 'KOR'\"}");
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownMetric() throws Exception {
+        // when
+        var response = get("/routing/CZE/ITA?metric=time");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(400);
+        verifyNoInteractions(countryGraphService);
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWithRetryAfterWhileLoading() throws Exception {
+        // given
+        when(countryGraphService.findRouteJson(anyString(), anyString(), anyList(), anyList(), any(), any()))
+                .thenThrow(new GraphNotReadyException("Country data is still loading", Duration.ofSeconds(3)));
+
+        // when
+        var response = get("/routing/CZE/ITA");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(response.headers().firstValue("Retry-After")).contains("3");
+        assertThat(response.body()).isEqualTo("{\"error\":\"Country data is still loading\"}");
+    }
+
+    @Test
+    void shouldReturnNotFoundForOtherPaths() throws Exception {
+        // when
+        var alternatives = get("/routing/CZE/ITA/alternatives");
+        var reachable = get("/routing/CZE");
+
+        // then
+        assertThat(alternatives.statusCode()).isEqualTo(404);
+        assertThat(reachable.statusCode()).isEqualTo(404);
+        verifyNoInteractions(countryGraphService);
+    }
+
+    @Test
+    void shouldRejectMethodsOtherThanGet() throws Exception {
+        // when
+        var response = send(HttpRequest.newBuilder(uri("/routing/CZE/ITA"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(405);
+        verifyNoInteractions(countryGraphService);
+    }
+}
@@ -1,7 +1,17 @@
 package com.routing.controller;
 
+import com.routing.exception.GraphNotReadyException;
 import com.routing.exception.NoRouteException;
-import com.routing.model.RouteResponse;
+import com.routing.graph.BorderGraph;
+import com.routing.graph.RouteMetric;
+import com.routing.graph.ShortestPathTree;
+import com.routing.model.AlternativesResponse;
+import com.routing.model.Country;
+import com.routing.model.BatchRouteRequest;
+import com.routing.model.HopMatrixRequest;
+import com.routing.model.HopMatrixResponse;
+import com.routing.model.RoutePair;
+import com.routing.model.RouteResult;
 import com.routing.service.CountryGraphService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -9,13 +19,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +40,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class RoutingControllerTest {
 
+    private static final String CACHE_CONTROL = "public, max-age=300";
+    private static final String ETAG = "W/\"00000000000000ff-CZE-ITA\"";
+
     @Mock
     private CountryGraphService countryGraphService;
 
@@ -30,7 +50,15 @@ class RoutingControllerTest {
 
     @BeforeEach
     void setUp() {
-        routingController = new RoutingController(countryGraphService);
+        routingController = new RoutingController(countryGraphService, CACHE_CONTROL);
+    }
+
+    private static byte[] json(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static CountryGraphService.TaggedRoute tagged(byte[] body) {
+        return new CountryGraphService.TaggedRoute(ETAG, body);
     }
 
     @Nested
@@ -39,30 +67,217 @@ class RoutingControllerTest {
         @Test
         void shouldReturnRouteWhenServiceReturnsRoute() {
             // given
-            var route = List.of("CZE", "AUT", "ITA");
-            when(countryGraphService.findRoute("CZE", "ITA")).thenReturn(route);
+            var body = json("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}");
+            when(countryGraphService.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null)).thenReturn(tagged(body));
 
             // when
-            ResponseEntity<RouteResponse> response = routingController.getRoute("CZE", "ITA");
+            ResponseEntity<byte[]> response = routingController.getRoute("CZE", "ITA", null, null, "hops", null);
 
             // then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(response.getBody()).isNotNull();
-            assertThat(response.getBody().route()).isEqualTo(route);
-            verify(countryGraphService).findRoute("CZE", "ITA");
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(response.getBody()).isEqualTo(body);
+            verify(countryGraphService).findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null);
         }
 
         @Test
         void shouldThrowNoRouteExceptionWhenServiceThrowsNoRouteException() {
             // given
             var exception = new NoRouteException("No land route found from 'JPN' to 'KOR'");
-            when(countryGraphService.findRoute(anyString(), anyString())).thenThrow(exception);
+            when(countryGraphService.findRouteJson(anyString(), anyString(), anyList(), anyList(), any(), any())).thenThrow(exception);
 
             // when & then
-            assertThatThrownBy(() -> routingController.getRoute("JPN", "KOR"))
+            assertThatThrownBy(() -> routingController.getRoute("JPN", "KOR", null, null, "hops", null))
                     .isInstanceOf(NoRouteException.class)
                     .hasMessage("No land route found from 'JPN' to 'KOR'");
         }
+
+        @Test
+        void shouldPassIdentifiersThroughUnchanged() {
+            // given
+            var body = json("{\"route\":[\"CZE\",\"DEU\",\"AUT\",\"ITA\"]}");
+            when(countryGraphService.findRouteJson("cz", "Italy", List.of("che"), List.of("276"), RouteMetric.HOPS, null))
+                    .thenReturn(tagged(body));
+
+            // when
+            var response = routingController.getRoute("cz", "Italy", List.of("che"), List.of("276"), "hops", null);
+
+            // then
+            assertThat(response.getBody()).isEqualTo(body);
+        }
+
+        @Test
+        void shouldParseDistanceMetric() {
+            // given
+            var body = json("{\"route\":[\"DEU\",\"AUT\",\"ITA\"]}");
+            when(countryGraphService.findRouteJson("deu", "ita", List.of(), List.of(), RouteMetric.DISTANCE, null))
+                    .thenReturn(tagged(body));
+
+            // when
+            var response = routingController.getRoute("deu", "ita", null, null, "Distance", null);
+
+            // then
+            assertThat(response.getBody()).isEqualTo(body);
+        }
+
+        @Test
+        void shouldSendETagAndCacheControl() {
+            // given
+            var body = json("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}");
+            when(countryGraphService.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null))
+                    .thenReturn(tagged(body));
+
+            // when
+            var response = routingController.getRoute("CZE", "ITA", null, null, "hops", null);
+
+            // then
+            assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+            assertThat(response.getHeaders().getCacheControl()).isEqualTo(CACHE_CONTROL);
+        }
+
+        @Test
+        void shouldAnswerNotModifiedWithoutBody() {
+            // given
+            when(countryGraphService.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, ETAG))
+                    .thenReturn(new CountryGraphService.TaggedRoute(ETAG, null));
+
+            // when
+            var response = routingController.getRoute("CZE", "ITA", null, null, "hops", ETAG);
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+            assertThat(response.getHeaders().getCacheControl()).isEqualTo(CACHE_CONTROL);
+            assertThat(response.getBody()).isNull();
+        }
+
+        @Test
+        void shouldOmitCacheControlWhenNotConfigured() {
+            // given
+            var controller = new RoutingController(countryGraphService, "");
+            when(countryGraphService.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null))
+                    .thenReturn(tagged(json("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}")));
+
+            // when
+            var response = controller.getRoute("CZE", "ITA", null, null, "hops", null);
+
+            // then
+            assertThat(response.getHeaders().getCacheControl()).isNull();
+            assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+        }
+
+        @Test
+        void shouldRejectUnknownMetric() {
+            // when & then
+            assertThatThrownBy(() -> routingController.getRoute("DEU", "ITA", null, null, "time", null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Unknown metric 'time', expected one of [hops, distance]");
+        }
+    }
+
+    @Nested
+    class GetHopMatrix {
+
+        @Test
+        void shouldReturnServiceResult() {
+            // given
+            var matrix = new HopMatrixResponse(List.of("cze"), List.of("Ita", "JPN"), List.of(List.of(2, -1)));
+            when(countryGraphService.findHopMatrix(List.of("cze"), List.of("Ita", "JPN"))).thenReturn(matrix);
+
+            // when
+            var response = routingController.getHopMatrix(new HopMatrixRequest(List.of("cze"), List.of("Ita", "JPN")));
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isEqualTo(matrix);
+        }
+    }
+
+    @Nested
+    class GetAlternatives {
+
+        @Test
+        void shouldReturnServiceResult() {
+            // given
+            var alternatives = new AlternativesResponse(
+                    List.of(List.of("CZE", "AUT", "ITA"), List.of("CZE", "DEU", "AUT", "ITA")), false);
+            when(countryGraphService.findAlternatives("cze", "ita", 2)).thenReturn(alternatives);
+
+            // when
+            var response = routingController.getAlternatives("cze", "ita", 2);
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isEqualTo(alternatives);
+        }
+    }
+
+    @Nested
+    class GetRoutes {
+
+        @Test
+        void shouldReturnServiceResults() {
+            // given
+            var results = List.of(
+                    RouteResult.found("cze", "ita", List.of("CZE", "AUT", "ITA")),
+                    RouteResult.failed("jpn", "KOR", "No land route found from 'jpn' to 'KOR'"));
+            when(countryGraphService.findRoutes(List.of(new RoutePair("cze", "ita"), new RoutePair("jpn", "KOR"))))
+                    .thenReturn(results);
+
+            // when
+            var response = routingController.getRoutes(new BatchRouteRequest(
+                    List.of(new RoutePair("cze", "ita"), new RoutePair("jpn", "KOR"))));
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().results()).isEqualTo(results);
+        }
+    }
+
+    @Nested
+    class GetRoutesFrom {
+
+        private final BorderGraph graph = BorderGraph.of(List.of(
+                new Country("CZE", List.of("AUT")),
+                new Country("AUT", List.of("CZE", "ITA")),
+                new Country("ITA", List.of("AUT"))
+        ));
+
+        @Test
+        void shouldStreamEveryReachableRouteInHopOrder() throws Exception {
+            // given
+            when(countryGraphService.findRoutesFrom("cze", Integer.MAX_VALUE))
+                    .thenReturn(ShortestPathTree.from(graph, graph.idOf("CZE")));
+
+            // when
+            var response = routingController.getRoutesFrom("cze", null);
+            var out = new ByteArrayOutputStream();
+            response.getBody().writeTo(out);
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                    "{\"origin\":\"CZE\",\"routes\":["
+                            + "{\"destination\":\"CZE\",\"hops\":0,\"route\":[\"CZE\"]},"
+                            + "{\"destination\":\"AUT\",\"hops\":1,\"route\":[\"CZE\",\"AUT\"]},"
+                            + "{\"destination\":\"ITA\",\"hops\":2,\"route\":[\"CZE\",\"AUT\",\"ITA\"]}]}");
+        }
+
+        @Test
+        void shouldPassHopLimitToService() throws Exception {
+            // given
+            when(countryGraphService.findRoutesFrom("CZE", 1))
+                    .thenReturn(ShortestPathTree.from(graph, graph.idOf("CZE"), 1));
+
+            // when
+            var response = routingController.getRoutesFrom("CZE", 1);
+            var out = new ByteArrayOutputStream();
+            response.getBody().writeTo(out);
+
+            // then
+            assertThat(out.toString(StandardCharsets.UTF_8)).doesNotContain("ITA");
+        }
     }
 
     @Nested
@@ -74,13 +289,39 @@ class RoutingControllerTest {
             var exception = new NoRouteException("Unknown country code: 'XXX'");
 
             // when
-            ResponseEntity<RoutingController.ErrorResponse> response =
-                    routingController.handleNoRoute(exception);
+            ResponseEntity<byte[]> response = routingController.handleNoRoute(exception);
 
             // then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-            assertThat(response.getBody()).isNotNull();
-            assertThat(response.getBody().error()).isEqualTo("Unknown country code: 'XXX'");
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(response.getBody()).isEqualTo(json("{\"error\":\"Unknown country code: 'XXX'\"}"));
+        }
+
+        @Test
+        void handleInvalidArgumentShouldReturnBadRequestWithErrorMessage() {
+            // given
+            var exception = new IllegalArgumentException("maxHops should not be negative");
+
+            // when
+            ResponseEntity<byte[]> response = routingController.handleInvalidArgument(exception);
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).isEqualTo(json("{\"error\":\"maxHops should not be negative\"}"));
+        }
+
+        @Test
+        void handleNotReadyShouldReturnServiceUnavailableWithRetryAfter() {
+            // given
+            var exception = new GraphNotReadyException("Country data is still loading", Duration.ofSeconds(4));
+
+            // when
+            ResponseEntity<byte[]> response = routingController.handleNotReady(exception);
+
+            // then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("4");
+            assertThat(response.getBody()).isEqualTo(json("{\"error\":\"Country data is still loading\"}"));
         }
     }
 }
\ No newline at end of file
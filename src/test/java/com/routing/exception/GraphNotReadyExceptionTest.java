@@ -0,0 +1,22 @@
+package com.routing.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphNotReadyExceptionTest {
+
+    @Test
+    void shouldStoreMessageAndRetryAfter() {
+        var exception = new GraphNotReadyException("Country data is still loading", Duration.ofSeconds(4));
+        assertThat(exception.getMessage()).isEqualTo("Country data is still loading");
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(4));
+    }
+
+    @Test
+    void shouldBeRuntimeException() {
+        assertThat(new GraphNotReadyException("test", Duration.ZERO)).isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.routing.graph;
+
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AStarSearchTest {
+
+    @Nested
+    class FixedGraph {
+
+        // A -> D is two hops over the far-off B, or three hops along the equator
+        private final BorderGraph graph = BorderGraph.of(List.of(
+                new Country("AAA", List.of("BBB", "CC1"), new Coordinates(0, 0)),
+                new Country("BBB", List.of("AAA", "DDD"), new Coordinates(20, 5)),
+                new Country("CC1", List.of("AAA", "CC2"), new Coordinates(0, 3)),
+                new Country("CC2", List.of("CC1", "DDD"), new Coordinates(0, 7)),
+                new Country("DDD", List.of("BBB", "CC2", "XXX"), new Coordinates(0, 10)),
+                new Country("XXX", List.of("DDD")),
+                new Country("ISL", List.of(), new Coordinates(0, 5))
+        ));
+        private final AStarSearch search = new AStarSearch(graph);
+
+        private List<String> route(String origin, String destination, String... avoid) {
+            var mask = ConstrainedSearch.mask(graph, Arrays.stream(avoid).mapToInt(graph::idOf).toArray());
+            var path = search.shortestPath(
+                    new int[] {graph.idOf(origin), graph.idOf(destination)}, mask, SearchObserver.NONE);
+            return path == null ? null : graph.codes(path);
+        }
+
+        @Test
+        void shouldPreferShorterDistanceOverFewerHops() {
+            assertThat(new BreadthFirstSearch(graph).shortestPath(graph.idOf("AAA"), graph.idOf("DDD")))
+                    .hasSize(3);
+            assertThat(route("AAA", "DDD")).containsExactly("AAA", "CC1", "CC2", "DDD");
+        }
+
+        @Test
+        void shouldFallBackToLongerDetourWhenStraightRouteIsAvoided() {
+            assertThat(route("AAA", "DDD", "CC2")).containsExactly("AAA", "BBB", "DDD");
+        }
+
+        @Test
+        void shouldReturnSingleNodeForSameOriginAndDestination() {
+            assertThat(route("BBB", "BBB")).containsExactly("BBB");
+        }
+
+        @Test
+        void shouldNotRouteToOrThroughCountryWithoutPosition() {
+            var work = new int[] {-1, -1};
+
+            var path = search.shortestPath(new int[] {graph.idOf("AAA"), graph.idOf("XXX")},
+                    ConstrainedSearch.mask(graph), (expanded, peakFrontier) -> {
+                        work[0] = expanded;
+                        work[1] = peakFrontier;
+                    });
+
+            assertThat(path).isNull();
+            assertThat(work).containsExactly(0, 0);
+        }
+
+        @Test
+        void shouldReturnNullWhenUnreachable() {
+            assertThat(route("AAA", "ISL")).isNull();
+        }
+
+        @Test
+        void shouldChainSegmentsThroughWaypoints() {
+            var path = search.shortestPath(new int[] {graph.idOf("AAA"), graph.idOf("BBB"), graph.idOf("CC2")},
+                    ConstrainedSearch.mask(graph), SearchObserver.NONE);
+            assertThat(graph.codes(path)).containsExactly("AAA", "BBB", "DDD", "CC2");
+        }
+    }
+
+    @Nested
+    class AgainstDijkstra {
+
+        @ParameterizedTest
+        @CsvSource({"1, 60, 0.08", "2, 120, 0.04", "3, 200, 0.03"})
+        void shouldFindRoutesOfMinimalDistance(long seed, int n, double density) {
+            var graph = withRandomCapitals(TestGraphs.random(seed, n, density, false), new Random(seed));
+            var search = new AStarSearch(graph);
+            var noMask = ConstrainedSearch.mask(graph);
+
+            for (int origin = 0; origin < n; origin++) {
+                var expected = dijkstra(graph, origin);
+                for (int destination = 0; destination < n; destination++) {
+                    var path = search.shortestPath(new int[] {origin, destination}, noMask, SearchObserver.NONE);
+                    if (expected[destination] == Double.POSITIVE_INFINITY) {
+                        assertThat(path).isNull();
+                    } else {
+                        assertThat(path[0]).isEqualTo(origin);
+                        assertThat(path[path.length - 1]).isEqualTo(destination);
+                        assertThat(length(graph, path)).isCloseTo(expected[destination], within(1e-6));
+                    }
+                }
+            }
+        }
+
+        private BorderGraph withRandomCapitals(BorderGraph graph, Random random) {
+            var countries = new ArrayList<Country>();
+            for (int node = 0; node < graph.size(); node++) {
+                var borders = Arrays.stream(graph.neighbours(node)).mapToObj(graph::code).toList();
+                var capital = new Coordinates(random.nextDouble(-60, 60), random.nextDouble(-180, 180));
+                countries.add(new Country(graph.code(node), borders, capital));
+            }
+            return BorderGraph.of(countries);
+        }
+
+        /** Textbook O(n^2) Dijkstra from {@code origin}. */
+        private double[] dijkstra(BorderGraph graph, int origin) {
+            int n = graph.size();
+            var distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            var settled = new boolean[n];
+            distance[origin] = 0;
+            for (int round = 0; round < n; round++) {
+                int node = -1;
+                for (int i = 0; i < n; i++) {
+                    if (!settled[i] && (node < 0 || distance[i] < distance[node])) {
+                        node = i;
+                    }
+                }
+                if (distance[node] == Double.POSITIVE_INFINITY) {
+                    break;
+                }
+                settled[node] = true;
+                for (int next : graph.neighbours(node)) {
+                    distance[next] = Math.min(distance[next], distance[node] + graph.distanceKm(node, next));
+                }
+            }
+            return distance;
+        }
+
+        private double length(BorderGraph graph, int[] path) {
+            double total = 0;
+            for (int i = 1; i < path.length; i++) {
+                total += graph.distanceKm(path[i - 1], path[i]);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.routing.graph;
+
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AllPairsRouteTableTest {
+
+    @Nested
+    class Lookup {
+
+        private final BorderGraph graph = TestGraphs.europe();
+        private final AllPairsRouteTable table = AllPairsRouteTable.build(graph);
+
+        @Test
+        void shouldWalkMultiHopRoute() {
+            var path = table.shortestPath(graph.idOf("PRT"), graph.idOf("DEU"));
+            assertThat(graph.codes(path)).containsExactly("PRT", "ESP", "FRA", "DEU");
+        }
+
+        @Test
+        void shouldReturnSingleNodeForSameOriginAndDestination() {
+            var path = table.shortestPath(graph.idOf("ITA"), graph.idOf("ITA"));
+            assertThat(graph.codes(path)).containsExactly("ITA");
+        }
+
+        @Test
+        void shouldReturnNullWhenUnreachable() {
+            assertThat(table.shortestPath(graph.idOf("JPN"), graph.idOf("FRA"))).isNull();
+            assertThat(table.shortestPath(graph.idOf("ESP"), graph.idOf("ONE"))).isNull();
+        }
+
+        @Test
+        void shouldReportWalkedNodesWithoutFrontier() {
+            var work = new int[] {-1, -1};
+            SearchObserver observer = (expanded, peakFrontier) -> {
+                work[0] = expanded;
+                work[1] = peakFrontier;
+            };
+
+            table.shortestPath(graph.idOf("PRT"), graph.idOf("DEU"), observer);
+            assertThat(work).containsExactly(4, 0);
+
+            table.shortestPath(graph.idOf("JPN"), graph.idOf("FRA"), observer);
+            assertThat(work).containsExactly(0, 0);
+        }
+
+        @Test
+        void shouldReportSquareFootprint() {
+            assertThat(table.footprintBytes()).isEqualTo((long) graph.size() * graph.size() * Short.BYTES);
+            assertThat(table.buildMillis()).isNotNegative();
+        }
+    }
+
+    @Nested
+    class AgreementWithBfs {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {true, false})
+        void shouldReturnExactlyTheBfsRouteForEveryPair(boolean symmetric) {
+            var graph = TestGraphs.random(42, 120, 0.02, symmetric);
+            var bfs = new BreadthFirstSearch(graph);
+            var table = AllPairsRouteTable.build(graph);
+
+            for (int origin = 0; origin < graph.size(); origin++) {
+                for (int destination = 0; destination < graph.size(); destination++) {
+                    assertThat(table.shortestPath(origin, destination))
+                            .isEqualTo(bfs.shortestPath(origin, destination));
+                }
+            }
+        }
+    }
+
+    @Nested
+    class Update {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {true, false})
+        void shouldAnswerEveryPairWithAShortestRouteOfTheNewGraph(boolean symmetric) {
+            var before = TestGraphs.randomCountries(42, 120, 0.02, symmetric);
+            var table = AllPairsRouteTable.build(BorderGraph.of(before));
+            for (long seed = 0; seed < 5; seed++) {
+                var after = TestGraphs.rewire(before, seed, 3);
+                var update = GraphUpdate.of(BorderGraph.of(before), after);
+                var graph = update.graph();
+                var bfs = new BreadthFirstSearch(graph);
+
+                var updated = AllPairsRouteTable.update(table, update);
+
+                for (int origin = 0; origin < graph.size(); origin++) {
+                    for (int destination = 0; destination < graph.size(); destination++) {
+                        var expected = bfs.shortestPath(origin, destination);
+                        var path = updated.shortestPath(origin, destination);
+                        if (expected == null) {
+                            assertThat(path).isNull();
+                            continue;
+                        }
+                        assertThat(path).hasSameSizeAs(expected).startsWith(origin).endsWith(destination);
+                        for (int i = 1; i < path.length; i++) {
+                            assertThat(graph.neighbours(path[i - 1])).contains(path[i]);
+                        }
+                    }
+                }
+            }
+        }
+
+        @Test
+        void shouldSearchOnlyRowsWhoseTreeChanged() {
+            var before = TestGraphs.europe();
+            var table = AllPairsRouteTable.build(before);
+            // JPN gains a one-way border into DEU: only its own row can use it
+            var update = GraphUpdate.of(before, List.of(
+                    new Country("PRT", List.of("ESP")),
+                    new Country("ESP", List.of("PRT", "FRA", "AND")),
+                    new Country("AND", List.of("ESP", "FRA")),
+                    new Country("FRA", List.of("ESP", "AND", "ITA", "DEU")),
+                    new Country("ITA", List.of("FRA")),
+                    new Country("DEU", List.of("FRA")),
+                    new Country("JPN", List.of("DEU")),
+                    new Country("ONE", List.of("PRT"))
+            ));
+            var graph = update.graph();
+
+            var updated = AllPairsRouteTable.update(table, update);
+
+            assertThat(updated.rebuiltRows()).isEqualTo(1);
+            assertThat(graph.codes(updated.shortestPath(graph.idOf("JPN"), graph.idOf("PRT"))))
+                    .containsExactly("JPN", "DEU", "FRA", "ESP", "PRT");
+            assertThat(updated.shortestPath(graph.idOf("DEU"), graph.idOf("JPN"))).isNull();
+        }
+
+        @Test
+        void shouldShareTheMatrixWhenNoRowChanged() {
+            var before = TestGraphs.europe();
+            var table = AllPairsRouteTable.build(before);
+            var update = GraphUpdate.of(before, List.of(
+                    new Country("PRT", List.of("ESP"), null, List.of("PT")),
+                    new Country("ESP", List.of("PRT", "FRA", "AND")),
+                    new Country("AND", List.of("ESP", "FRA")),
+                    new Country("FRA", List.of("ESP", "AND", "ITA", "DEU")),
+                    new Country("ITA", List.of("FRA")),
+                    new Country("DEU", List.of("FRA")),
+                    new Country("JPN", List.of()),
+                    new Country("ONE", List.of("PRT"))
+            ));
+
+            var updated = AllPairsRouteTable.update(table, update);
+
+            assertThat(updated.rebuiltRows()).isZero();
+            assertThat(updated.footprintBytes()).isEqualTo(table.footprintBytes());
+            assertThat(updated.shortestPath(0, 3)).isEqualTo(table.shortestPath(0, 3));
+        }
+
+        @Test
+        void shouldBuildFromScratchWhenIdsChange() {
+            var table = AllPairsRouteTable.build(TestGraphs.europe());
+            var update = GraphUpdate.of(TestGraphs.europe(), List.of(
+                    new Country("ITA", List.of("FRA")),
+                    new Country("FRA", List.of("ITA"))
+            ));
+
+            var updated = AllPairsRouteTable.update(table, update);
+
+            assertThat(updated.rebuiltRows()).isEqualTo(2);
+            assertThat(updated.shortestPath(0, 1)).containsExactly(0, 1);
+        }
+    }
+}
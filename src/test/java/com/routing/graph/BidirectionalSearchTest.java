@@ -0,0 +1,104 @@
+package com.routing.graph;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BidirectionalSearchTest {
+
+    @Nested
+    class FixedGraph {
+
+        private final BorderGraph graph = TestGraphs.europe();
+        private final BidirectionalSearch search = new BidirectionalSearch(graph);
+
+        private List<String> route(String origin, String destination) {
+            var path = search.shortestPath(graph.idOf(origin), graph.idOf(destination));
+            return path == null ? null : graph.codes(path);
+        }
+
+        @Test
+        void shouldFindShortestMultiHopRoute() {
+            assertThat(route("PRT", "DEU")).containsExactly("PRT", "ESP", "FRA", "DEU");
+        }
+
+        @Test
+        void shouldFindDirectNeighbour() {
+            assertThat(route("FRA", "ITA")).containsExactly("FRA", "ITA");
+        }
+
+        @Test
+        void shouldReturnSingleNodeForSameOriginAndDestination() {
+            assertThat(route("FRA", "FRA")).containsExactly("FRA");
+        }
+
+        @Test
+        void shouldReportWorkOfBothSides() {
+            var work = new int[2];
+
+            search.shortestPath(graph.idOf("PRT"), graph.idOf("DEU"), (expanded, peakFrontier) -> {
+                work[0] = expanded;
+                work[1] = peakFrontier;
+            });
+
+            // forward expands PRT and ESP, backward expands DEU and meets FRA
+            assertThat(work).containsExactly(3, 3);
+        }
+
+        @Test
+        void shouldReturnNullWhenUnreachable() {
+            assertThat(route("JPN", "FRA")).isNull();
+            assertThat(route("FRA", "JPN")).isNull();
+        }
+
+        @Test
+        void shouldSearchBackwardAgainstEdgeDirection() {
+            assertThat(route("ONE", "DEU")).containsExactly("ONE", "PRT", "ESP", "FRA", "DEU");
+            assertThat(route("DEU", "ONE")).isNull();
+        }
+    }
+
+    @Nested
+    class AgreementWithBfs {
+
+        @ParameterizedTest
+        @CsvSource({
+                "1, 150, 0.015, true",
+                "2, 150, 0.015, false",
+                "3, 80, 0.05, true",
+                "4, 80, 0.05, false",
+                "5, 200, 0.006, false"
+        })
+        void shouldMatchBfsReachabilityAndLengthForEveryPair(long seed, int size, double density, boolean symmetric) {
+            var graph = TestGraphs.random(seed, size, density, symmetric);
+            var bfs = new BreadthFirstSearch(graph);
+            var bidirectional = new BidirectionalSearch(graph);
+
+            for (int origin = 0; origin < graph.size(); origin++) {
+                for (int destination = 0; destination < graph.size(); destination++) {
+                    var expected = bfs.shortestPath(origin, destination);
+                    var actual = bidirectional.shortestPath(origin, destination);
+                    if (expected == null) {
+                        assertThat(actual).isNull();
+                    } else {
+                        assertThat(actual).hasSameSizeAs(expected);
+                        assertValidPath(graph, actual, origin, destination);
+                    }
+                }
+            }
+        }
+
+        private void assertValidPath(BorderGraph graph, int[] path, int origin, int destination) {
+            assertThat(path[0]).isEqualTo(origin);
+            assertThat(path[path.length - 1]).isEqualTo(destination);
+            for (int i = 1; i < path.length; i++) {
+                assertThat(graph.neighbours(path[i - 1])).contains(path[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.routing.graph;
+
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BorderGraphFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Nested
+    class RoundTrip {
+
+        @Test
+        void shouldRestoreCodesAndAdjacency() throws Exception {
+            var graph = TestGraphs.random(7, 150, 0.02, false);
+            var path = dir.resolve("graph.bin");
+
+            BorderGraphFile.write(graph, path);
+            var restored = BorderGraphFile.read(path);
+
+            assertThat(restored.size()).isEqualTo(graph.size());
+            assertThat(restored.edgeCount()).isEqualTo(graph.edgeCount());
+            for (int node = 0; node < graph.size(); node++) {
+                assertThat(restored.code(node)).isEqualTo(graph.code(node));
+                assertThat(restored.idOf(graph.code(node))).isEqualTo(node);
+                assertThat(restored.neighbours(node)).isEqualTo(graph.neighbours(node));
+                assertThat(restored.reverseNeighbours(node)).isEqualTo(graph.reverseNeighbours(node));
+            }
+            assertThat(restored.isSymmetric()).isEqualTo(graph.isSymmetric());
+        }
+
+        @Test
+        void shouldRestoreCapitalPositionsAndEdgeWeights() throws Exception {
+            var graph = BorderGraph.of(List.of(
+                    new Country("FRA", List.of("DEU", "XXX"), new Coordinates(48.87, 2.33)),
+                    new Country("DEU", List.of("FRA"), new Coordinates(52.52, 13.4)),
+                    new Country("XXX", List.of("FRA"))
+            ));
+            var path = dir.resolve("graph.bin");
+
+            BorderGraphFile.write(graph, path);
+            var restored = BorderGraphFile.read(path);
+
+            assertThat(restored.capital(0)).isEqualTo(new Coordinates(48.87, 2.33));
+            assertThat(restored.capital(1)).isEqualTo(new Coordinates(52.52, 13.4));
+            assertThat(restored.capital(2)).isNull();
+            assertThat(restored.weights()).isEqualTo(graph.weights());
+        }
+
+        @Test
+        void shouldRestoreAliasesAndIdentifierLookup() throws Exception {
+            var graph = BorderGraph.of(List.of(
+                    new Country("REU", List.of(), null, List.of("RE", "638", "Réunion")),
+                    new Country("XXX", List.of())
+            ));
+            var path = dir.resolve("graph.bin");
+
+            BorderGraphFile.write(graph, path);
+            var restored = BorderGraphFile.read(path);
+
+            assertThat(restored.aliases(0)).containsExactly("RE", "638", "Réunion");
+            assertThat(restored.aliases(1)).isEmpty();
+            assertThat(restored.resolve("réunion")).isZero();
+        }
+
+        @Test
+        void shouldRoundTripEmptyGraph() throws Exception {
+            var path = dir.resolve("empty.bin");
+
+            BorderGraphFile.write(BorderGraph.EMPTY, path);
+
+            assertThat(BorderGraphFile.read(path).size()).isZero();
+        }
+
+        @Test
+        void shouldReplaceExistingFileWithoutLeavingTempFiles() throws Exception {
+            var path = dir.resolve("graph.bin");
+
+            BorderGraphFile.write(TestGraphs.europe(), path);
+            BorderGraphFile.write(TestGraphs.random(1, 20, 0.1, true), path);
+
+            assertThat(BorderGraphFile.read(path).size()).isEqualTo(20);
+            try (var files = Files.list(dir)) {
+                assertThat(files).containsExactly(path);
+            }
+        }
+    }
+
+    @Nested
+    class Validation {
+
+        @Test
+        void shouldRejectFlippedPayloadByte() throws Exception {
+            var path = dir.resolve("graph.bin");
+            BorderGraphFile.write(TestGraphs.europe(), path);
+            var bytes = Files.readAllBytes(path);
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(path, bytes);
+
+            assertThatThrownBy(() -> BorderGraphFile.read(path))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("checksum");
+        }
+
+        @Test
+        void shouldRejectTruncatedFile() throws Exception {
+            var path = dir.resolve("graph.bin");
+            BorderGraphFile.write(TestGraphs.europe(), path);
+            var bytes = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(bytes, bytes.length - 4));
+
+            assertThatThrownBy(() -> BorderGraphFile.read(path))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("truncated");
+        }
+
+        @Test
+        void shouldRejectForeignFile() throws Exception {
+            var path = dir.resolve("graph.bin");
+            Files.writeString(path, "definitely not a graph snapshot");
+
+            assertThatThrownBy(() -> BorderGraphFile.read(path))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("not a graph snapshot");
+        }
+
+        @Test
+        void shouldRejectOtherVersion() throws Exception {
+            var path = dir.resolve("graph.bin");
+            BorderGraphFile.write(TestGraphs.europe(), path);
+            var bytes = Files.readAllBytes(path);
+            ByteBuffer.wrap(bytes).putInt(Integer.BYTES, BorderGraphFile.VERSION + 1);
+            Files.write(path, bytes);
+
+            assertThatThrownBy(() -> BorderGraphFile.read(path))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("version");
+        }
+    }
+}
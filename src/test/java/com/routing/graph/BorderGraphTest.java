@@ -0,0 +1,265 @@
+package com.routing.graph;
+
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BorderGraphTest {
+
+    private static final List<Country> COUNTRIES = List.of(
+            new Country("CZE", List.of("AUT", "DEU")),
+            new Country("AUT", List.of("CZE", "DEU", "ITA")),
+            new Country("DEU", List.of("AUT", "CZE")),
+            new Country("ITA", List.of("AUT")),
+            new Country("JPN", List.of())
+    );
+
+    @Nested
+    class Interning {
+
+        @Test
+        void shouldAssignDenseIdsInInputOrder() {
+            var graph = BorderGraph.of(COUNTRIES);
+            assertThat(graph.size()).isEqualTo(5);
+            assertThat(graph.idOf("CZE")).isEqualTo(0);
+            assertThat(graph.idOf("JPN")).isEqualTo(4);
+            assertThat(graph.code(3)).isEqualTo("ITA");
+        }
+
+        @Test
+        void shouldReturnMinusOneForUnknownOrNullCode() {
+            var graph = BorderGraph.of(COUNTRIES);
+            assertThat(graph.idOf("XXX")).isEqualTo(-1);
+            assertThat(graph.idOf(null)).isEqualTo(-1);
+        }
+
+        @Test
+        void shouldKeepFirstCountryOnDuplicateCode() {
+            var graph = BorderGraph.of(List.of(
+                    new Country("AUT", List.of("ITA")),
+                    new Country("ITA", List.of()),
+                    new Country("AUT", List.of("CZE"))
+            ));
+            assertThat(graph.size()).isEqualTo(2);
+            assertThat(graph.neighbours(graph.idOf("AUT"))).containsExactly(graph.idOf("ITA"));
+        }
+
+        @Test
+        void shouldSkipBlankCodes() {
+            var graph = BorderGraph.of(List.of(new Country(" ", List.of()), new Country("FRA", List.of())));
+            assertThat(graph.size()).isEqualTo(1);
+            assertThat(graph.idOf("FRA")).isZero();
+        }
+    }
+
+    @Nested
+    class Adjacency {
+
+        @Test
+        void shouldPreserveBorderOrder() {
+            var graph = BorderGraph.of(COUNTRIES);
+            assertThat(graph.neighbours(graph.idOf("AUT")))
+                    .containsExactly(graph.idOf("CZE"), graph.idOf("DEU"), graph.idOf("ITA"));
+        }
+
+        @Test
+        void shouldDropBordersToUnknownCodes() {
+            var graph = BorderGraph.of(List.of(new Country("ESP", List.of("AND", "FRA")), new Country("FRA", List.of())));
+            assertThat(graph.neighbours(graph.idOf("ESP"))).containsExactly(graph.idOf("FRA"));
+            assertThat(graph.edgeCount()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldPrecomputeReverseAdjacency() {
+            var graph = BorderGraph.of(List.of(
+                    new Country("AAA", List.of("CCC")),
+                    new Country("BBB", List.of("CCC")),
+                    new Country("CCC", List.of())
+            ));
+            assertThat(graph.reverseNeighbours(graph.idOf("CCC")))
+                    .containsExactly(graph.idOf("AAA"), graph.idOf("BBB"));
+            assertThat(graph.reverseNeighbours(graph.idOf("AAA"))).isEmpty();
+        }
+
+        @Test
+        void shouldDetectSymmetricBorders() {
+            assertThat(BorderGraph.of(COUNTRIES).isSymmetric()).isTrue();
+            assertThat(BorderGraph.of(List.of(
+                    new Country("AAA", List.of("BBB")),
+                    new Country("BBB", List.of())
+            )).isSymmetric()).isFalse();
+        }
+
+        @Test
+        void islandShouldHaveNoNeighbours() {
+            var graph = BorderGraph.of(COUNTRIES);
+            assertThat(graph.neighbours(graph.idOf("JPN"))).isEmpty();
+        }
+    }
+
+    @Nested
+    class Components {
+
+        @Test
+        void shouldLabelComponentsInNodeOrder() {
+            var graph = BorderGraph.of(COUNTRIES);
+            assertThat(graph.componentCount()).isEqualTo(2);
+            assertThat(graph.componentOf(graph.idOf("CZE"))).isZero();
+            assertThat(graph.componentOf(graph.idOf("ITA"))).isZero();
+            assertThat(graph.componentOf(graph.idOf("JPN"))).isEqualTo(1);
+            assertThat(graph.componentSize(graph.idOf("AUT"))).isEqualTo(4);
+            assertThat(graph.componentSize(graph.idOf("JPN"))).isEqualTo(1);
+        }
+
+        @Test
+        void shouldRuleOutPairsInDifferentComponents() {
+            var graph = BorderGraph.of(COUNTRIES);
+            assertThat(graph.mayReach(graph.idOf("CZE"), graph.idOf("ITA"))).isTrue();
+            assertThat(graph.mayReach(graph.idOf("CZE"), graph.idOf("JPN"))).isFalse();
+            assertThat(graph.mayReach(graph.idOf("JPN"), graph.idOf("CZE"))).isFalse();
+        }
+
+        @Test
+        void shouldJoinOneWayBordersIntoOneComponent() {
+            var graph = BorderGraph.of(List.of(
+                    new Country("AAA", List.of("BBB")),
+                    new Country("BBB", List.of())
+            ));
+            // a one-way border still joins the component; only a search can rule BBB -> AAA out
+            assertThat(graph.componentCount()).isEqualTo(1);
+            assertThat(graph.mayReach(graph.idOf("BBB"), graph.idOf("AAA"))).isTrue();
+        }
+
+        @Test
+        void emptyGraphShouldHaveNoComponents() {
+            assertThat(BorderGraph.EMPTY.componentCount()).isZero();
+        }
+    }
+
+    @Nested
+    class Positions {
+
+        private final BorderGraph graph = BorderGraph.of(List.of(
+                new Country("FRA", List.of("DEU"), new Coordinates(48.87, 2.33)),
+                new Country("DEU", List.of("FRA", "XXX"), new Coordinates(52.52, 13.4)),
+                new Country("XXX", List.of("DEU")),
+                new Country("NUL", List.of(), new Coordinates(0, 0)),
+                new Country("ANT", List.of(), new Coordinates(0, 180))
+        ));
+
+        @Test
+        void shouldKeepCapitalPositions() {
+            assertThat(graph.capital(graph.idOf("FRA"))).isEqualTo(new Coordinates(48.87, 2.33));
+            assertThat(graph.hasPosition(graph.idOf("FRA"))).isTrue();
+            assertThat(graph.capital(graph.idOf("XXX"))).isNull();
+            assertThat(graph.hasPosition(graph.idOf("XXX"))).isFalse();
+        }
+
+        @Test
+        void shouldMeasureGreatCircleDistance() {
+            int paris = graph.idOf("FRA");
+            int berlin = graph.idOf("DEU");
+            assertThat(graph.distanceKm(paris, berlin)).isCloseTo(878.0, within(1.0));
+            assertThat(graph.distanceKm(berlin, paris)).isEqualTo(graph.distanceKm(paris, berlin));
+            assertThat(graph.distanceKm(paris, paris)).isZero();
+            assertThat(graph.distanceKm(graph.idOf("NUL"), graph.idOf("ANT")))
+                    .isCloseTo(Math.PI * BorderGraph.EARTH_RADIUS_KM, within(1e-6));
+        }
+
+        @Test
+        void shouldWeightEdgesByDistanceAndNeverUseUnknownPositions() {
+            int berlin = graph.idOf("DEU");
+            assertThat(graph.distanceKm(berlin, graph.idOf("XXX"))).isInfinite();
+            // DEU -> FRA, DEU -> XXX
+            var weights = graph.weights();
+            int first = graph.offsets()[berlin];
+            assertThat(weights[first]).isEqualTo(graph.distanceKm(berlin, graph.idOf("FRA")));
+            assertThat(weights[first + 1]).isInfinite();
+        }
+    }
+
+    @Nested
+    class Codes {
+
+        @Test
+        void shouldMapPathToImmutableCodeList() {
+            var graph = BorderGraph.of(COUNTRIES);
+            var route = graph.codes(new int[] {0, 1, 3});
+            assertThat(route).containsExactly("CZE", "AUT", "ITA");
+            assertThat(route).isUnmodifiable();
+        }
+
+        @Test
+        void emptyGraphShouldHaveNoNodes() {
+            assertThat(BorderGraph.EMPTY.size()).isZero();
+            assertThat(BorderGraph.EMPTY.idOf("CZE")).isEqualTo(-1);
+        }
+    }
+
+    @Nested
+    class Identifiers {
+
+        private final BorderGraph graph = BorderGraph.of(List.of(
+                new Country("CZE", List.of("AUT"), null, List.of("CZ", "203", "Czechia")),
+                new Country("AUT", List.of("CZE"), null, List.of("AT", "040", "Austria"))
+        ));
+
+        @Test
+        void shouldResolveAnyIdentifierIgnoringCase() {
+            assertThat(graph.resolve("cze")).isEqualTo(graph.idOf("CZE"));
+            assertThat(graph.resolve("cz")).isEqualTo(graph.idOf("CZE"));
+            assertThat(graph.resolve("040")).isEqualTo(graph.idOf("AUT"));
+            assertThat(graph.resolve("AUSTRIA")).isEqualTo(graph.idOf("AUT"));
+            assertThat(graph.resolve("DE")).isEqualTo(-1);
+        }
+
+        @Test
+        void shouldKeepIdOfExactOnCca3() {
+            assertThat(graph.idOf("cze")).isEqualTo(-1);
+            assertThat(graph.idOf("CZ")).isEqualTo(-1);
+        }
+
+        @Test
+        void shouldExposeAliasesInDatasetOrder() {
+            assertThat(graph.aliases(graph.idOf("CZE"))).containsExactly("CZ", "203", "Czechia");
+            assertThat(BorderGraph.of(COUNTRIES).aliases(0)).isEmpty();
+        }
+    }
+
+    @Nested
+    class Version {
+
+        @Test
+        void shouldBeEqualForGraphsBuiltFromSameData() {
+            assertThat(BorderGraph.of(COUNTRIES).version()).isEqualTo(BorderGraph.of(COUNTRIES).version());
+        }
+
+        @Test
+        void shouldChangeWithBorders() {
+            var changed = List.of(
+                    new Country("CZE", List.of("AUT", "DEU")),
+                    new Country("AUT", List.of("CZE", "DEU")),
+                    new Country("DEU", List.of("AUT", "CZE")),
+                    new Country("ITA", List.of()),
+                    new Country("JPN", List.of())
+            );
+            assertThat(BorderGraph.of(changed).version()).isNotEqualTo(BorderGraph.of(COUNTRIES).version());
+        }
+
+        @Test
+        void shouldChangeWithIdentifiersAndPositions() {
+            var plain = BorderGraph.of(List.of(new Country("CZE", List.of())));
+            var aliased = BorderGraph.of(List.of(new Country("CZE", List.of(), null, List.of("CZ"))));
+            var positioned = BorderGraph.of(List.of(new Country("CZE", List.of(), new Coordinates(50.08, 14.47))));
+
+            assertThat(aliased.version()).isNotEqualTo(plain.version());
+            assertThat(positioned.version()).isNotEqualTo(plain.version());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.routing.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BreadthFirstSearchTest {
+
+    private final BorderGraph graph = TestGraphs.europe();
+
+    private final BreadthFirstSearch search = new BreadthFirstSearch(graph);
+
+    private List<String> route(String origin, String destination) {
+        var path = search.shortestPath(graph.idOf(origin), graph.idOf(destination));
+        return path == null ? null : graph.codes(path);
+    }
+
+    @Test
+    void shouldFindShortestMultiHopRoute() {
+        assertThat(route("PRT", "DEU")).containsExactly("PRT", "ESP", "FRA", "DEU");
+    }
+
+    @Test
+    void shouldPreferFirstDiscoveredNeighbourOnTies() {
+        // ESP -> FRA -> ITA and ESP -> AND -> FRA -> ITA: the shorter one wins
+        assertThat(route("ESP", "ITA")).containsExactly("ESP", "FRA", "ITA");
+    }
+
+    @Test
+    void shouldReturnSingleNodeForSameOriginAndDestination() {
+        assertThat(route("FRA", "FRA")).containsExactly("FRA");
+    }
+
+    @Test
+    void shouldReturnNullWhenUnreachable() {
+        assertThat(route("JPN", "FRA")).isNull();
+        assertThat(route("FRA", "JPN")).isNull();
+    }
+
+    @Test
+    void shouldFollowBorderDirection() {
+        assertThat(route("ONE", "ESP")).containsExactly("ONE", "PRT", "ESP");
+        assertThat(route("ESP", "ONE")).isNull();
+    }
+
+    @Test
+    void shouldReportExpandedNodesAndPeakFrontier() {
+        var work = new int[2];
+        SearchObserver observer = (expanded, peakFrontier) -> {
+            work[0] = expanded;
+            work[1] = peakFrontier;
+        };
+
+        search.shortestPath(graph.idOf("PRT"), graph.idOf("DEU"), observer);
+        assertThat(work).containsExactly(3, 2);
+
+        // unreachable behind a one-way border: everything reachable from ESP is expanded
+        search.shortestPath(graph.idOf("ESP"), graph.idOf("ONE"), observer);
+        assertThat(work).containsExactly(6, 3);
+    }
+
+    @Test
+    void shouldRejectPairInAnotherComponentWithoutSearching() {
+        var work = new int[] {-1, -1};
+
+        var path = search.shortestPath(graph.idOf("FRA"), graph.idOf("JPN"), (expanded, peakFrontier) -> {
+            work[0] = expanded;
+            work[1] = peakFrontier;
+        });
+
+        assertThat(path).isNull();
+        assertThat(work).containsExactly(0, 0);
+    }
+}
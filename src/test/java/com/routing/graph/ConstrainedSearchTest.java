@@ -0,0 +1,131 @@
+package com.routing.graph;
+
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConstrainedSearchTest {
+
+    @Nested
+    class FixedGraph {
+
+        private final BorderGraph graph = TestGraphs.europe();
+        private final ConstrainedSearch search = new ConstrainedSearch(graph);
+
+        private List<String> route(List<String> waypoints, String... avoid) {
+            var ids = waypoints.stream().mapToInt(graph::idOf).toArray();
+            var mask = ConstrainedSearch.mask(graph, List.of(avoid).stream().mapToInt(graph::idOf).toArray());
+            var path = search.shortestPath(ids, mask, SearchObserver.NONE);
+            return path == null ? null : graph.codes(path);
+        }
+
+        @Test
+        void shouldMatchPlainSearchWithoutConstraints() {
+            assertThat(route(List.of("PRT", "DEU"))).containsExactly("PRT", "ESP", "FRA", "DEU");
+        }
+
+        @Test
+        void shouldDetourAroundAvoidedCountry() {
+            // ESP -> FRA is direct; with the direct border unusable the route has to pass AND
+            var graph = BorderGraph.of(List.of(
+                    new Country("ESP", List.of("XXX", "AND")),
+                    new Country("XXX", List.of("ESP", "FRA")),
+                    new Country("AND", List.of("ESP", "FRA")),
+                    new Country("FRA", List.of("XXX", "AND"))
+            ));
+            var path = new ConstrainedSearch(graph).shortestPath(
+                    new int[] {graph.idOf("ESP"), graph.idOf("FRA")},
+                    ConstrainedSearch.mask(graph, graph.idOf("XXX")),
+                    SearchObserver.NONE);
+            assertThat(graph.codes(path)).containsExactly("ESP", "AND", "FRA");
+        }
+
+        @Test
+        void shouldReturnNullWhenAvoidedCountryIsTheOnlyWay() {
+            assertThat(route(List.of("PRT", "ITA"), "FRA")).isNull();
+        }
+
+        @Test
+        void shouldChainSegmentsThroughViaPoints() {
+            assertThat(route(List.of("ESP", "AND", "DEU"))).containsExactly("ESP", "AND", "FRA", "DEU");
+        }
+
+        @Test
+        void shouldAllowSegmentsToRevisitCountries() {
+            assertThat(route(List.of("PRT", "FRA", "ESP"))).containsExactly("PRT", "ESP", "FRA", "ESP");
+        }
+
+        @Test
+        void shouldReturnNullWhenAnySegmentIsUnreachable() {
+            assertThat(route(List.of("PRT", "FRA", "JPN"))).isNull();
+        }
+    }
+
+    @Nested
+    class Mask {
+
+        @Test
+        void shouldSetOneBitPerNodeAcrossWords() {
+            var graph = TestGraphs.random(1, 130, 0.0, true);
+            var mask = ConstrainedSearch.mask(graph, 0, 63, 64, 129);
+
+            assertThat(mask).hasSize(3);
+            assertThat(ConstrainedSearch.contains(mask, 63)).isTrue();
+            assertThat(ConstrainedSearch.contains(mask, 64)).isTrue();
+            assertThat(ConstrainedSearch.contains(mask, 129)).isTrue();
+            assertThat(ConstrainedSearch.contains(mask, 1)).isFalse();
+            assertThat(ConstrainedSearch.contains(mask, 128)).isFalse();
+        }
+    }
+
+    @Nested
+    class AgainstBreadthFirstSearch {
+
+        @ParameterizedTest
+        @CsvSource({"1, 60, 0.05", "2, 120, 0.03", "3, 200, 0.02"})
+        void avoidingShouldEqualSearchingWithoutTheAvoidedCountries(long seed, int n, double density) {
+            var graph = TestGraphs.random(seed, n, density, false);
+            var avoided = new ArrayList<Integer>();
+            for (int node = 3; node < n; node += 7) {
+                avoided.add(node);
+            }
+            var pruned = withoutEdgesInto(graph, avoided);
+            var search = new ConstrainedSearch(graph);
+            var mask = ConstrainedSearch.mask(graph, avoided.stream().mapToInt(Integer::intValue).toArray());
+            var bfs = new BreadthFirstSearch(pruned);
+
+            for (int origin = 0; origin < n; origin++) {
+                for (int destination = 0; destination < n; destination++) {
+                    if (avoided.contains(origin) || avoided.contains(destination)) {
+                        continue;
+                    }
+                    var expected = bfs.shortestPath(origin, destination);
+                    var actual = search.shortestPath(new int[] {origin, destination}, mask, SearchObserver.NONE);
+                    assertThat(actual).isEqualTo(expected);
+                }
+            }
+        }
+
+        /** Same node ids, minus every edge that enters an avoided node. */
+        private BorderGraph withoutEdgesInto(BorderGraph graph, List<Integer> avoided) {
+            var countries = new ArrayList<Country>();
+            for (int node = 0; node < graph.size(); node++) {
+                var borders = new ArrayList<String>();
+                for (int next : graph.neighbours(node)) {
+                    if (!avoided.contains(next)) {
+                        borders.add(graph.code(next));
+                    }
+                }
+                countries.add(new Country(graph.code(node), borders));
+            }
+            return BorderGraph.of(countries);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.routing.graph;
+
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphUpdateTest {
+
+    // PRT - ESP - FRA - DEU - POL, plus an island
+    private static final List<Country> CHAIN = List.of(
+            new Country("PRT", List.of("ESP"), new Coordinates(38.72, -9.13)),
+            new Country("ESP", List.of("PRT", "FRA"), new Coordinates(40.42, -3.70)),
+            new Country("FRA", List.of("ESP", "DEU"), new Coordinates(48.86, 2.35)),
+            new Country("DEU", List.of("FRA", "POL"), new Coordinates(52.52, 13.40)),
+            new Country("POL", List.of("DEU"), new Coordinates(52.23, 21.01)),
+            new Country("ISL", List.of(), new Coordinates(64.15, -21.94))
+    );
+
+    private static int[] path(BorderGraph graph, String... codes) {
+        var path = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            path[i] = graph.idOf(codes[i]);
+        }
+        return path;
+    }
+
+    private static List<Country> withBorders(String code, String... borders) {
+        return CHAIN.stream()
+                .map(country -> country.cca3().equals(code)
+                        ? new Country(code, List.of(borders), country.capital(), country.aliases())
+                        : country)
+                .toList();
+    }
+
+    @Nested
+    class Diff {
+
+        @Test
+        void shouldBeIncrementalForSameCodesInSameOrder() {
+            var update = GraphUpdate.of(BorderGraph.of(CHAIN), withBorders("FRA", "ESP", "DEU", "POL"));
+
+            assertThat(update.isIncremental()).isTrue();
+            assertThat(update.changedCountries()).isEqualTo(1);
+            assertThat(update.addedBorders()).isEqualTo(1);
+            assertThat(update.removedBorders()).isZero();
+        }
+
+        @Test
+        void shouldStartOverWhenCodesChange() {
+            var reordered = List.of(CHAIN.get(1), CHAIN.get(0), CHAIN.get(2), CHAIN.get(3), CHAIN.get(4), CHAIN.get(5));
+
+            var update = GraphUpdate.of(BorderGraph.of(CHAIN), reordered);
+
+            assertThat(update.isIncremental()).isFalse();
+            assertThat(update.changedCountries()).isEqualTo(6);
+            assertThat(update.keepsRoute(0, 1, new int[] {0, 1})).isFalse();
+        }
+
+        @Test
+        void shouldTreatReorderedBordersAsChangedButNotAsEdits() {
+            var update = GraphUpdate.of(BorderGraph.of(CHAIN), withBorders("ESP", "FRA", "PRT"));
+
+            assertThat(update.changedCountries()).isEqualTo(1);
+            assertThat(update.addedBorders()).isZero();
+            assertThat(update.removedBorders()).isZero();
+            assertThat(update.graph().version()).isNotEqualTo(BorderGraph.of(CHAIN).version());
+        }
+    }
+
+    @Nested
+    class Graph {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {true, false})
+        void shouldMatchGraphBuiltFromScratch(boolean symmetric) {
+            var before = TestGraphs.randomCountries(7, 80, 0.03, symmetric);
+            for (long seed = 0; seed < 20; seed++) {
+                var after = TestGraphs.rewire(before, seed, 4);
+
+                var updated = GraphUpdate.of(BorderGraph.of(before), after).graph();
+                var rebuilt = BorderGraph.of(after);
+
+                assertThat(updated.version()).isEqualTo(rebuilt.version());
+                assertThat(updated.isSymmetric()).isEqualTo(rebuilt.isSymmetric());
+                assertThat(updated.componentCount()).isEqualTo(rebuilt.componentCount());
+                assertThat(updated.weights()).isEqualTo(rebuilt.weights());
+                for (int node = 0; node < rebuilt.size(); node++) {
+                    assertThat(updated.reverseNeighbours(node)).isEqualTo(rebuilt.reverseNeighbours(node));
+                    assertThat(updated.componentOf(node)).isEqualTo(rebuilt.componentOf(node));
+                    assertThat(updated.componentSize(node)).isEqualTo(rebuilt.componentSize(node));
+                }
+            }
+        }
+
+        @Test
+        void shouldMergeComponentsJoinedByNewBorders() {
+            var graph = GraphUpdate.of(BorderGraph.of(CHAIN), withBorders("ISL", "PRT")).graph();
+
+            assertThat(graph.componentCount()).isEqualTo(1);
+            assertThat(graph.mayReach(graph.idOf("ISL"), graph.idOf("POL"))).isTrue();
+            assertThat(graph.isSymmetric()).isFalse();
+        }
+
+        @Test
+        void shouldResolveNewIdentifiers() {
+            var renamed = CHAIN.stream()
+                    .map(country -> country.cca3().equals("DEU")
+                            ? new Country("DEU", country.borders(), country.capital(), List.of("DE", "Germany"))
+                            : country)
+                    .toList();
+
+            var graph = GraphUpdate.of(BorderGraph.of(CHAIN), renamed).graph();
+
+            assertThat(graph.resolve("germany")).isEqualTo(graph.idOf("DEU"));
+        }
+
+        @Test
+        void shouldWeighEdgesWithMovedCapitals() {
+            var moved = CHAIN.stream()
+                    .map(country -> country.cca3().equals("DEU")
+                            ? new Country("DEU", country.borders(), new Coordinates(50.73, 7.10))
+                            : country)
+                    .toList();
+
+            var graph = GraphUpdate.of(BorderGraph.of(CHAIN), moved).graph();
+
+            assertThat(graph.weights()).isEqualTo(BorderGraph.of(moved).weights());
+        }
+    }
+
+    @Nested
+    class Routes {
+
+        private final BorderGraph before = BorderGraph.of(CHAIN);
+
+        @Test
+        void shouldKeepRoutesTheChangeDoesNotTouch() {
+            var update = GraphUpdate.of(before, withBorders("ISL", "ISL"));
+
+            assertThat(update.keepsRoute(0, 4, path(before, "PRT", "ESP", "FRA", "DEU", "POL"))).isTrue();
+            assertThat(update.keepsRoute(0, 5, null)).isTrue();
+        }
+
+        @Test
+        void shouldDropRoutesOverRemovedBorders() {
+            var update = update("FRA", "ESP");
+
+            assertThat(update.keepsRoute(0, 4, path(before, "PRT", "ESP", "FRA", "DEU", "POL"))).isFalse();
+            assertThat(update.keepsRoute(0, 2, path(before, "PRT", "ESP", "FRA"))).isTrue();
+        }
+
+        @Test
+        void shouldDropRoutesUndercutByNewBorders() {
+            var update = update("ESP", "PRT", "FRA", "DEU");
+
+            assertThat(update.keepsRoute(0, 4, path(before, "PRT", "ESP", "FRA", "DEU", "POL"))).isFalse();
+            // same length either way
+            assertThat(update.keepsRoute(1, 2, path(before, "ESP", "FRA"))).isTrue();
+            // the new border is one-way, eastbound
+            assertThat(update.keepsRoute(4, 0, path(before, "POL", "DEU", "FRA", "ESP", "PRT"))).isTrue();
+        }
+
+        @Test
+        void shouldDropNoRouteOnceNewBorderConnectsThePair() {
+            var update = update("POL", "DEU", "ISL");
+
+            assertThat(update.keepsRoute(0, 5, null)).isFalse();
+            assertThat(update.keepsRoute(5, 0, null)).isTrue();
+        }
+
+        private GraphUpdate update(String code, String... borders) {
+            return GraphUpdate.of(before, withBorders(code, borders));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.routing.graph;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static com.routing.graph.HopDistanceMatrix.UNREACHABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HopDistanceMatrixTest {
+
+    @Nested
+    class FixedGraph {
+
+        private final BorderGraph graph = TestGraphs.europe();
+
+        private int[] ids(String... codes) {
+            var ids = new int[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+                ids[i] = graph.idOf(codes[i]);
+            }
+            return ids;
+        }
+
+        @Test
+        void shouldComputeHopsForEveryPair() {
+            var hops = HopDistanceMatrix.compute(graph, ids("PRT", "ITA", "JPN"), ids("PRT", "DEU", "JPN"));
+
+            assertThat(hops).isEqualTo(new int[][] {
+                    {0, 3, UNREACHABLE},
+                    {3, 2, UNREACHABLE},
+                    {UNREACHABLE, UNREACHABLE, 0}
+            });
+        }
+
+        @Test
+        void shouldFollowBorderDirection() {
+            var hops = HopDistanceMatrix.compute(graph, ids("ONE", "ESP"), ids("ESP", "ONE"));
+
+            assertThat(hops).isEqualTo(new int[][] {
+                    {2, 0},
+                    {0, UNREACHABLE}
+            });
+        }
+
+        @Test
+        void shouldAllowRepeatedCodesAndEmptySets() {
+            assertThat(HopDistanceMatrix.compute(graph, ids("FRA", "FRA"), ids("ITA")))
+                    .isEqualTo(new int[][] {{1}, {1}});
+            assertThat(HopDistanceMatrix.compute(graph, ids(), ids("ITA"))).isEmpty();
+            assertThat(HopDistanceMatrix.compute(graph, ids("ITA"), ids())).isEqualTo(new int[][] {{}});
+        }
+    }
+
+    @Nested
+    class AgainstBreadthFirstSearch {
+
+        @ParameterizedTest
+        @CsvSource({"1, 60, 0.05, 10, 60", "2, 150, 0.02, 130, 40", "3, 200, 0.015, 200, 200"})
+        void shouldMatchOneSearchPerPairAcrossBatchesOf64(long seed, int n, double density,
+                                                         int originCount, int destinationCount) {
+            var graph = TestGraphs.random(seed, n, density, false);
+            var random = new Random(seed);
+            var origins = random.ints(originCount, 0, n).toArray();
+            var destinations = random.ints(destinationCount, 0, n).toArray();
+            var bfs = new BreadthFirstSearch(graph);
+
+            var hops = HopDistanceMatrix.compute(graph, origins, destinations);
+
+            for (int i = 0; i < originCount; i++) {
+                for (int j = 0; j < destinationCount; j++) {
+                    var path = bfs.shortestPath(origins[i], destinations[j]);
+                    assertThat(hops[i][j]).isEqualTo(path == null ? UNREACHABLE : path.length - 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.routing.graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentifierIndexTest {
+
+    private static final String[] CODES = {"BHR", "BRN", "CZE", "REU", "USA"};
+
+    private static final String[][] ALIASES = {
+            {"BH", "048", "BRN", "Bahrain"},
+            {"BN", "096", "BRU", "Brunei"},
+            {"CZ", "203", "CZE", "Czechia"},
+            {"RE", "638", "Réunion"},
+            {"US", "840", "USA", "United States"}
+    };
+
+    private final IdentifierIndex index = IdentifierIndex.of(CODES, ALIASES);
+
+    @Test
+    void shouldResolveEveryKindOfIdentifier() {
+        assertThat(index.find("CZE")).isEqualTo(2);
+        assertThat(index.find("CZ")).isEqualTo(2);
+        assertThat(index.find("203")).isEqualTo(2);
+        assertThat(index.find("Czechia")).isEqualTo(2);
+        assertThat(index.find("BRU")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreCaseIncludingBeyondAscii() {
+        assertThat(index.find("cze")).isEqualTo(2);
+        assertThat(index.find("united STATES")).isEqualTo(4);
+        assertThat(index.find("RÉUNION")).isEqualTo(3);
+        assertThat(index.find("réunion")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldLetCca3WinOverAnotherCountrysAlias() {
+        // Bahrain's cioc code is Brunei's cca3
+        assertThat(index.find("BRN")).isEqualTo(1);
+        assertThat(index.find("brn")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropAliasClaimedByTwoCountries() {
+        var shared = IdentifierIndex.of(new String[] {"AAA", "BBB"},
+                new String[][] {{"Congo", "AA"}, {"congo", "BB"}});
+
+        assertThat(shared.find("Congo")).isEqualTo(-1);
+        assertThat(shared.find("AA")).isZero();
+        assertThat(shared.find("bb")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnMinusOneForUnknownBlankOrNull() {
+        assertThat(index.find("XX")).isEqualTo(-1);
+        assertThat(index.find("CZEC")).isEqualTo(-1);
+        assertThat(index.find("")).isEqualTo(-1);
+        assertThat(index.find(null)).isEqualTo(-1);
+        assertThat(IdentifierIndex.of(new String[0], new String[0][]).find("CZE")).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldResolveEveryNodeOfALargeGraphByCodeAndAlias() {
+        var graph = TestGraphs.random(11, 2_000, 0.001, true);
+        var codes = new String[graph.size()];
+        var aliases = new String[graph.size()][];
+        for (int node = 0; node < codes.length; node++) {
+            codes[node] = graph.code(node);
+            aliases[node] = new String[] {"n" + node};
+        }
+
+        var large = IdentifierIndex.of(codes, aliases);
+
+        for (int node = 0; node < codes.length; node++) {
+            assertThat(large.find(codes[node].toLowerCase())).isEqualTo(node);
+            assertThat(large.find("N" + node)).isEqualTo(node);
+        }
+    }
+}
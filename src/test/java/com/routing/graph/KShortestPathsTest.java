@@ -0,0 +1,148 @@
+package com.routing.graph;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KShortestPathsTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    @Nested
+    class FixedGraph {
+
+        private final BorderGraph graph = TestGraphs.europe();
+        private final KShortestPaths search = new KShortestPaths(graph);
+
+        private KShortestPaths.Result find(String origin, String destination, int k, int maxExpanded) {
+            return search.find(graph.idOf(origin), graph.idOf(destination), k, maxExpanded, NO_DEADLINE,
+                    SearchObserver.NONE);
+        }
+
+        private List<List<String>> routes(KShortestPaths.Result result) {
+            return result.paths().stream().map(graph::codes).toList();
+        }
+
+        @Test
+        void shouldListLooplessRoutesShortestFirst() {
+            var result = find("PRT", "ITA", 5, Integer.MAX_VALUE);
+
+            assertThat(routes(result)).containsExactly(
+                    List.of("PRT", "ESP", "FRA", "ITA"),
+                    List.of("PRT", "ESP", "AND", "FRA", "ITA"));
+            assertThat(result.truncated()).isFalse();
+        }
+
+        @Test
+        void shouldStopAtK() {
+            assertThat(routes(find("PRT", "ITA", 1, Integer.MAX_VALUE)))
+                    .containsExactly(List.of("PRT", "ESP", "FRA", "ITA"));
+        }
+
+        @Test
+        void shouldReturnSingleNodeForSameOriginAndDestination() {
+            assertThat(routes(find("FRA", "FRA", 3, Integer.MAX_VALUE))).containsExactly(List.of("FRA"));
+        }
+
+        @Test
+        void shouldReturnNothingWhenUnreachable() {
+            var result = find("FRA", "JPN", 3, Integer.MAX_VALUE);
+
+            assertThat(result.paths()).isEmpty();
+            assertThat(result.truncated()).isFalse();
+        }
+
+        @Test
+        void shouldReturnRoutesFoundSoFarWhenBudgetRunsOut() {
+            var work = new int[1];
+            var result = search.find(graph.idOf("PRT"), graph.idOf("ITA"), 5, 5, NO_DEADLINE,
+                    (expanded, peakFrontier) -> work[0] = expanded);
+
+            assertThat(routes(result)).containsExactly(List.of("PRT", "ESP", "FRA", "ITA"));
+            assertThat(result.truncated()).isTrue();
+            assertThat(work[0]).isEqualTo(5);
+        }
+
+        @Test
+        void shouldStopAtDeadline() {
+            var result = search.find(graph.idOf("PRT"), graph.idOf("ITA"), 5, Integer.MAX_VALUE,
+                    System.nanoTime() - 1, SearchObserver.NONE);
+
+            assertThat(result.paths()).isEmpty();
+            assertThat(result.truncated()).isTrue();
+        }
+    }
+
+    @Nested
+    class AgainstEnumeration {
+
+        @ParameterizedTest
+        @ValueSource(longs = {1, 2, 3, 4})
+        void shouldMatchLengthsOfAllSimplePathsInOrder(long seed) {
+            int n = 9;
+            var graph = TestGraphs.random(seed, n, 0.3, false);
+            var search = new KShortestPaths(graph);
+
+            for (int origin = 0; origin < n; origin++) {
+                for (int destination = 0; destination < n; destination++) {
+                    if (origin == destination) {
+                        continue;
+                    }
+                    var all = simplePaths(graph, origin, destination);
+                    var result = search.find(origin, destination, 6, Integer.MAX_VALUE, NO_DEADLINE,
+                            SearchObserver.NONE);
+
+                    assertThat(result.paths()).hasSize(Math.min(6, all.size()));
+                    var distinct = new HashSet<List<Integer>>();
+                    for (int i = 0; i < result.paths().size(); i++) {
+                        var path = result.paths().get(i);
+                        assertThat(path).hasSameSizeAs(all.get(i));
+                        assertThat(all).anySatisfy(other -> assertThat(other).isEqualTo(path));
+                        assertThat(distinct.add(Arrays.stream(path).boxed().toList())).isTrue();
+                    }
+                }
+            }
+        }
+
+        /** Every simple path by depth-first enumeration, sorted by length. */
+        private List<int[]> simplePaths(BorderGraph graph, int origin, int destination) {
+            var paths = new ArrayList<int[]>();
+            var onPath = new boolean[graph.size()];
+            var path = new ArrayDeque<Integer>();
+            onPath[origin] = true;
+            path.addLast(origin);
+            extend(graph, destination, path, onPath, paths);
+            paths.sort(Comparator.comparingInt(p -> p.length));
+            return paths;
+        }
+
+        private void extend(BorderGraph graph, int destination, Deque<Integer> path, boolean[] onPath,
+                            List<int[]> paths) {
+            int node = path.getLast();
+            if (node == destination) {
+                paths.add(path.stream().mapToInt(Integer::intValue).toArray());
+                return;
+            }
+            for (int next : graph.neighbours(node)) {
+                if (!onPath[next]) {
+                    onPath[next] = true;
+                    path.addLast(next);
+                    extend(graph, destination, path, onPath, paths);
+                    path.removeLast();
+                    onPath[next] = false;
+                }
+            }
+        }
+    }
+}
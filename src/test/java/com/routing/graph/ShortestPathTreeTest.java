@@ -0,0 +1,67 @@
+package com.routing.graph;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortestPathTreeTest {
+
+    private final BorderGraph graph = TestGraphs.europe();
+
+    @Nested
+    class FullTree {
+
+        private final ShortestPathTree tree = ShortestPathTree.from(graph, graph.idOf("PRT"));
+
+        @Test
+        void shouldReachWholeComponent() {
+            assertThat(tree.reachedCount()).isEqualTo(6);
+            assertThat(tree.isReachable(graph.idOf("JPN"))).isFalse();
+            assertThat(tree.isReachable(graph.idOf("ONE"))).isFalse();
+        }
+
+        @Test
+        void shouldRecordHopDistances() {
+            assertThat(tree.distance(graph.idOf("PRT"))).isZero();
+            assertThat(tree.distance(graph.idOf("ESP"))).isEqualTo(1);
+            assertThat(tree.distance(graph.idOf("DEU"))).isEqualTo(3);
+            assertThat(tree.distance(graph.idOf("JPN"))).isEqualTo(-1);
+        }
+
+        @Test
+        void shouldRebuildSameRouteAsBfs() {
+            var bfs = new BreadthFirstSearch(graph);
+            for (int node = 0; node < graph.size(); node++) {
+                assertThat(tree.pathTo(node)).isEqualTo(bfs.shortestPath(graph.idOf("PRT"), node));
+            }
+        }
+
+        @Test
+        void shouldListReachedNodesInDistanceOrder() {
+            assertThat(tree.reached(0)).isEqualTo(tree.origin());
+            for (int i = 1; i < tree.reachedCount(); i++) {
+                assertThat(tree.distance(tree.reached(i))).isGreaterThanOrEqualTo(tree.distance(tree.reached(i - 1)));
+            }
+        }
+    }
+
+    @Nested
+    class HopLimit {
+
+        @Test
+        void shouldNotExpandBeyondMaxHops() {
+            var tree = ShortestPathTree.from(graph, graph.idOf("PRT"), 2);
+            assertThat(tree.isReachable(graph.idOf("FRA"))).isTrue();
+            assertThat(tree.isReachable(graph.idOf("DEU"))).isFalse();
+            assertThat(tree.reachedCount()).isEqualTo(4);
+        }
+
+        @Test
+        void zeroHopsShouldOnlyReachOrigin() {
+            var tree = ShortestPathTree.from(graph, graph.idOf("FRA"), 0);
+            assertThat(tree.reachedCount()).isEqualTo(1);
+            assertThat(graph.codes(tree.pathTo(graph.idOf("FRA")))).containsExactly("FRA");
+        }
+    }
+}
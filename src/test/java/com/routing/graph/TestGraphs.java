@@ -0,0 +1,89 @@
+package com.routing.graph;
+
+import com.routing.model.Country;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Graph fixtures shared by the engine tests. */
+final class TestGraphs {
+
+    private TestGraphs() {}
+
+    /** Small western-European slice with an island and a one-way border (ONE -> PRT). */
+    static BorderGraph europe() {
+        return BorderGraph.of(List.of(
+                new Country("PRT", List.of("ESP")),
+                new Country("ESP", List.of("PRT", "FRA", "AND")),
+                new Country("AND", List.of("ESP", "FRA")),
+                new Country("FRA", List.of("ESP", "AND", "ITA", "DEU")),
+                new Country("ITA", List.of("FRA")),
+                new Country("DEU", List.of("FRA")),
+                new Country("JPN", List.of()),
+                new Country("ONE", List.of("PRT"))
+        ));
+    }
+
+    /**
+     * Random graph with {@code n} nodes where each directed edge exists with
+     * probability {@code density}; when {@code symmetric}, every edge is mirrored.
+     */
+    static BorderGraph random(long seed, int n, double density, boolean symmetric) {
+        return BorderGraph.of(randomCountries(seed, n, density, symmetric));
+    }
+
+    /** The country list behind {@link #random}. */
+    static List<Country> randomCountries(long seed, int n, double density, boolean symmetric) {
+        var random = new Random(seed);
+        var borders = new ArrayList<List<String>>();
+        for (int i = 0; i < n; i++) {
+            borders.add(new ArrayList<>());
+        }
+        for (int from = 0; from < n; from++) {
+            for (int to = symmetric ? from + 1 : 0; to < n; to++) {
+                if (from != to && random.nextDouble() < density) {
+                    borders.get(from).add(code(to));
+                    if (symmetric) {
+                        borders.get(to).add(code(from));
+                    }
+                }
+            }
+        }
+        var countries = new ArrayList<Country>();
+        for (int i = 0; i < n; i++) {
+            countries.add(new Country(code(i), borders.get(i)));
+        }
+        return countries;
+    }
+
+    /**
+     * The same countries, in the same order, after {@code changes} random
+     * one-way border edits: each removes a border or adds a new one.
+     */
+    static List<Country> rewire(List<Country> countries, long seed, int changes) {
+        var random = new Random(seed);
+        var borders = new ArrayList<List<String>>();
+        for (var country : countries) {
+            borders.add(new ArrayList<>(country.borders()));
+        }
+        for (int i = 0; i < changes; i++) {
+            var list = borders.get(random.nextInt(countries.size()));
+            var target = countries.get(random.nextInt(countries.size())).cca3();
+            if (random.nextBoolean() && !list.isEmpty()) {
+                list.remove(random.nextInt(list.size()));
+            } else if (!list.contains(target)) {
+                list.add(target);
+            }
+        }
+        var rewired = new ArrayList<Country>();
+        for (int i = 0; i < countries.size(); i++) {
+            rewired.add(new Country(countries.get(i).cca3(), borders.get(i)));
+        }
+        return rewired;
+    }
+
+    private static String code(int i) {
+        return "C%03d".formatted(i);
+    }
+}
@@ -0,0 +1,50 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AlternativesResponseTest {
+
+    @Nested
+    class ConstructorValidation {
+
+        @Test
+        void shouldThrowExceptionWhenRoutesIsNull() {
+            assertThatThrownBy(() -> new AlternativesResponse(null, false))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessageContaining("routes should not be null");
+        }
+
+        @Test
+        void shouldCreateImmutableCopyOfEveryRoute() {
+            var route = new ArrayList<>(List.of("CZE", "AUT", "ITA"));
+            var routes = new ArrayList<List<String>>();
+            routes.add(route);
+
+            var response = new AlternativesResponse(routes, false);
+            route.add("SMR");
+            routes.add(List.of("CZE", "DEU"));
+
+            assertThat(response.routes()).containsExactly(List.of("CZE", "AUT", "ITA"));
+            assertThatThrownBy(() -> response.routes().getFirst().add("VAT"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    class RecordProperties {
+
+        @Test
+        void shouldReturnRoutesAndTruncatedFlag() {
+            var response = new AlternativesResponse(List.of(List.of("CZE", "AUT")), true);
+            assertThat(response.routes()).containsExactly(List.of("CZE", "AUT"));
+            assertThat(response.truncated()).isTrue();
+        }
+    }
+}
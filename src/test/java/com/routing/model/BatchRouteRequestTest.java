@@ -0,0 +1,26 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchRouteRequestTest {
+
+    @Test
+    void shouldThrowExceptionWhenPairsIsNull() {
+        assertThatThrownBy(() -> new BatchRouteRequest(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void shouldCreateImmutableCopyOfPairs() {
+        var pairs = new ArrayList<>(List.of(new RoutePair("CZE", "ITA")));
+        var request = new BatchRouteRequest(pairs);
+        pairs.add(new RoutePair("JPN", "KOR"));
+        assertThat(request.pairs()).containsExactly(new RoutePair("CZE", "ITA"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchRouteResponseTest {
+
+    @Test
+    void shouldThrowExceptionWhenResultsIsNull() {
+        assertThatThrownBy(() -> new BatchRouteResponse(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void shouldCreateImmutableCopyOfResults() {
+        var results = new ArrayList<>(List.of(RouteResult.found("FRA", "FRA", List.of("FRA"))));
+        var response = new BatchRouteResponse(results);
+        results.add(RouteResult.failed("JPN", "KOR", "No land route found from 'JPN' to 'KOR'"));
+        assertThat(response.results()).hasSize(1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoordinatesTest {
+
+    @Nested
+    class ConstructorValidation {
+
+        @Test
+        void shouldAcceptPolesAndAntimeridian() {
+            var coordinates = new Coordinates(-90, 180);
+            assertThat(coordinates.latitude()).isEqualTo(-90);
+            assertThat(coordinates.longitude()).isEqualTo(180);
+        }
+
+        @Test
+        void shouldRejectLatitudeOutOfRange() {
+            assertThatThrownBy(() -> new Coordinates(90.5, 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("latitude");
+        }
+
+        @Test
+        void shouldRejectLongitudeOutOfRange() {
+            assertThatThrownBy(() -> new Coordinates(0, -181))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("longitude");
+        }
+
+        @Test
+        void shouldRejectNaN() {
+            assertThatThrownBy(() -> new Coordinates(Double.NaN, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -47,6 +47,17 @@ class CountryTest {
             assertThatThrownBy(() -> borders.add("POL"))
                     .isInstanceOf(UnsupportedOperationException.class);
         }
+
+        @Test
+        void shouldAcceptNullAliasesAndCopyTheRest() {
+            var aliases = new java.util.ArrayList<>(List.of("CZ", "203"));
+
+            var country = new Country("CZE", List.of(), null, aliases);
+            aliases.add("Czechia");
+
+            assertThat(country.aliases()).containsExactly("CZ", "203");
+            assertThat(new Country("CZE", List.of(), null, null).aliases()).isEmpty();
+        }
     }
 
     @Nested
@@ -58,6 +69,24 @@ class CountryTest {
             assertThat(country.cca3()).isEqualTo("CZE");
         }
 
+        @Test
+        void shouldDefaultCapitalToUnknown() {
+            var country = new Country("CZE", List.of("AUT", "SVK"));
+            assertThat(country.capital()).isNull();
+        }
+
+        @Test
+        void shouldReturnCapital() {
+            var country = new Country("CZE", List.of("AUT"), new Coordinates(50.08, 14.43));
+            assertThat(country.capital()).isEqualTo(new Coordinates(50.08, 14.43));
+        }
+
+        @Test
+        void shouldDefaultAliasesToEmpty() {
+            var country = new Country("CZE", List.of("AUT"), new Coordinates(50.08, 14.43));
+            assertThat(country.aliases()).isEmpty();
+        }
+
         @Test
         void shouldReturnBorders() {
             var borders = List.of("AUT", "SVK");
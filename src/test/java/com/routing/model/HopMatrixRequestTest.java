@@ -0,0 +1,42 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HopMatrixRequestTest {
+
+    @Nested
+    class ConstructorValidation {
+
+        @Test
+        void shouldThrowExceptionWhenOriginsIsNull() {
+            assertThatThrownBy(() -> new HopMatrixRequest(null, List.of("ITA")))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessageContaining("origins should not be null");
+        }
+
+        @Test
+        void shouldThrowExceptionWhenDestinationsIsNull() {
+            assertThatThrownBy(() -> new HopMatrixRequest(List.of("CZE"), null))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessageContaining("destinations should not be null");
+        }
+
+        @Test
+        void shouldCreateImmutableCopies() {
+            var origins = new ArrayList<>(List.of("CZE"));
+            var request = new HopMatrixRequest(origins, List.of("ITA"));
+            origins.add("AUT");
+
+            assertThat(request.origins()).containsExactly("CZE");
+            assertThatThrownBy(() -> request.destinations().add("DEU"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HopMatrixResponseTest {
+
+    @Nested
+    class ConstructorValidation {
+
+        @Test
+        void shouldThrowExceptionWhenHopsIsNull() {
+            assertThatThrownBy(() -> new HopMatrixResponse(List.of("CZE"), List.of("ITA"), null))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessageContaining("hops should not be null");
+        }
+
+        @Test
+        void shouldRejectRowCountOtherThanOrigins() {
+            assertThatThrownBy(() -> new HopMatrixResponse(List.of("CZE", "AUT"), List.of("ITA"), List.of(List.of(2))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("hops should have one row per origin");
+        }
+
+        @Test
+        void shouldRejectColumnCountOtherThanDestinations() {
+            assertThatThrownBy(() -> new HopMatrixResponse(List.of("CZE"), List.of("ITA"), List.of(List.of(2, 1))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("hops should have one column per destination");
+        }
+    }
+
+    @Nested
+    class RecordProperties {
+
+        @Test
+        void shouldReturnImmutableMatrix() {
+            var response = new HopMatrixResponse(List.of("CZE", "JPN"), List.of("ITA"), List.of(List.of(2), List.of(-1)));
+
+            assertThat(response.hops()).containsExactly(List.of(2), List.of(-1));
+            assertThatThrownBy(() -> response.hops().getFirst().set(0, 3))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoutePairTest {
+
+    @Test
+    void shouldThrowExceptionWhenOriginIsNull() {
+        assertThatThrownBy(() -> new RoutePair(null, "ITA"))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("origin should not be null");
+    }
+
+    @Test
+    void shouldThrowExceptionWhenDestinationIsNull() {
+        assertThatThrownBy(() -> new RoutePair("CZE", null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("destination should not be null");
+    }
+
+    @Test
+    void shouldReturnOriginAndDestination() {
+        var pair = new RoutePair("CZE", "ITA");
+        assertThat(pair.origin()).isEqualTo("CZE");
+        assertThat(pair.destination()).isEqualTo("ITA");
+    }
+}
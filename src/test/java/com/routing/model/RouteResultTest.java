@@ -0,0 +1,55 @@
+package com.routing.model;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteResultTest {
+
+    @Nested
+    class ConstructorValidation {
+
+        @Test
+        void shouldRejectBothRouteAndError() {
+            assertThatThrownBy(() -> new RouteResult("CZE", "ITA", List.of("CZE"), "boom"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void shouldRejectNeitherRouteNorError() {
+            assertThatThrownBy(() -> new RouteResult("CZE", "ITA", null, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void shouldCreateImmutableCopyOfRoute() {
+            var mutableRoute = new ArrayList<>(List.of("CZE", "AUT"));
+            var result = RouteResult.found("CZE", "AUT", mutableRoute);
+            mutableRoute.add("ITA");
+            assertThat(result.route()).containsExactly("CZE", "AUT");
+        }
+    }
+
+    @Nested
+    class Factories {
+
+        @Test
+        void foundShouldCarryRoute() {
+            var result = RouteResult.found("CZE", "ITA", List.of("CZE", "AUT", "ITA"));
+            assertThat(result.route()).containsExactly("CZE", "AUT", "ITA");
+            assertThat(result.error()).isNull();
+        }
+
+        @Test
+        void failedShouldCarryError() {
+            var result = RouteResult.failed("JPN", "KOR", "No land route found from 'JPN' to 'KOR'");
+            assertThat(result.route()).isNull();
+            assertThat(result.error()).isEqualTo("No land route found from 'JPN' to 'KOR'");
+        }
+    }
+}
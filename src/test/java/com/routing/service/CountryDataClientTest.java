@@ -0,0 +1,228 @@
+package com.routing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routing.model.Country;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountryDataClientTest {
+
+    private static final String BODY = """
+            [
+              {"name": {"common": "Czechia"}, "cca3": "CZE", "borders": ["AUT", "DEU"]},
+              {"name": {"common": "Japan"}, "cca3": "JPN"}
+            ]
+            """;
+
+    private HttpServer server;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+    private final CountDownLatch releaseSlow = new CountDownLatch(1);
+    private volatile int status = 200;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // mirrors are asked concurrently, and /slow.json holds its exchange until released
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/countries.json", exchange -> {
+            var etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(etag);
+            if ("\"v1\"".equals(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                var bytes = BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(status, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            }
+            exchange.close();
+        });
+        server.createContext("/gzip.json", exchange -> {
+            requested.add("gzip " + exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            var bytes = gzip(BODY);
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.createContext("/broken.json", exchange -> {
+            requested.add("broken");
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/slow.json", exchange -> {
+            requested.add("slow");
+            try {
+                releaseSlow.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        releaseSlow.countDown();
+        server.stop(0);
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private String url(String path) {
+        return "http://localhost:%d%s".formatted(server.getAddress().getPort(), path);
+    }
+
+    private CountryDataClient client() {
+        return client(url("/countries.json"), Duration.ofSeconds(2));
+    }
+
+    private CountryDataClient client(String mirrors, Duration hedgeDelay) {
+        return new CountryDataClient(HttpClient.newHttpClient(), new ObjectMapper(), mirrors, hedgeDelay);
+    }
+
+    @Nested
+    class Fetch {
+
+        @Test
+        void shouldParseCodesAndBorders() throws Exception {
+            var countries = client().fetch();
+
+            assertThat(countries).hasSize(2);
+            assertThat(countries.get(0).cca3()).isEqualTo("CZE");
+            assertThat(countries.get(0).borders()).containsExactly("AUT", "DEU");
+            assertThat(countries.get(1).borders()).isEmpty();
+        }
+
+        @Test
+        void shouldFailOnUnexpectedStatus() {
+            status = 500;
+            assertThatThrownBy(() -> client().fetch())
+                    .hasMessage("Unexpected HTTP status: 500");
+        }
+    }
+
+    @Nested
+    class ConditionalFetch {
+
+        @Test
+        void shouldDownloadWhenNoValidatorIsKnown() throws Exception {
+            var countries = client().fetchIfModified();
+
+            assertThat(countries).isPresent();
+            assertThat(ifNoneMatch).containsExactly((String) null);
+        }
+
+        @Test
+        void shouldSendEtagAndSkipParsingOnNotModified() throws Exception {
+            var client = client();
+            client.fetch();
+
+            var countries = client.fetchIfModified();
+
+            assertThat(countries).isEmpty();
+            assertThat(ifNoneMatch).containsExactly(null, "\"v1\"");
+        }
+    }
+
+    @Nested
+    class Mirrors {
+
+        @Test
+        void shouldRejectEmptyMirrorList() {
+            assertThatThrownBy(() -> client(" , ", Duration.ofSeconds(2)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void shouldFailOverToNextMirrorOnError() throws Exception {
+            var countries = client(url("/broken.json") + ", " + url("/gzip.json"), Duration.ofSeconds(2)).fetch();
+
+            assertThat(countries).hasSize(2);
+            assertThat(requested).containsExactly("broken", "gzip gzip");
+        }
+
+        @Test
+        void shouldNotAskNextMirrorWhenFirstAnswersInTime() throws Exception {
+            client(url("/gzip.json") + "," + url("/broken.json"), Duration.ofSeconds(2)).fetch();
+
+            assertThat(requested).containsExactly("gzip gzip");
+        }
+
+        @Test
+        void shouldHedgeSlowMirrorAndTakeFirstAnswer() throws Exception {
+            var client = client(url("/slow.json") + "," + url("/gzip.json"), Duration.ofMillis(50));
+
+            long start = System.nanoTime();
+            var countries = client.fetch();
+
+            assertThat(countries).hasSize(2);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+            assertThat(requested).containsExactly("slow", "gzip gzip");
+        }
+
+        @Test
+        void shouldReportEveryMirrorErrorWhenAllFail() {
+            status = 500;
+            assertThatThrownBy(() -> client(url("/countries.json") + "," + url("/broken.json"), Duration.ofSeconds(2)).fetch())
+                    .hasMessage("Unexpected HTTP status: 500")
+                    .satisfies(e -> assertThat(e.getSuppressed()).singleElement()
+                            .extracting(Throwable::getMessage).isEqualTo("Unexpected HTTP status: 503"));
+        }
+
+        @Test
+        void shouldOnlySendValidatorsToTheMirrorTheyCameFrom() throws Exception {
+            var client = client(url("/broken.json") + "," + url("/countries.json"), Duration.ofSeconds(2));
+            client.fetch();
+
+            var countries = client.fetchIfModified();
+
+            assertThat(countries).isEmpty();
+            assertThat(ifNoneMatch).containsExactly(null, "\"v1\"");
+        }
+    }
+
+    @Nested
+    class Compression {
+
+        @Test
+        void shouldAdvertiseGzipAndDecompressWhileStreaming() throws Exception {
+            var countries = client(url("/gzip.json"), Duration.ofSeconds(2)).fetch();
+
+            assertThat(requested).containsExactly("gzip gzip");
+            assertThat(countries).extracting(Country::cca3).containsExactly("CZE", "JPN");
+        }
+
+        @Test
+        void shouldReadUncompressedBodies() throws Exception {
+            assertThat(client().fetch()).hasSize(2);
+        }
+    }
+}
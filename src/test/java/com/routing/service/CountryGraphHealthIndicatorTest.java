@@ -0,0 +1,43 @@
+package com.routing.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CountryGraphHealthIndicatorTest {
+
+    @Mock
+    private CountryGraphService countryGraphService;
+
+    @Test
+    void shouldBeOutOfServiceWithLastErrorWhileLoading() {
+        when(countryGraphService.loadStatus()).thenReturn(
+                new CountryGraphService.LoadStatus(false, 3, "java.io.IOException: connection refused", 0, 0));
+
+        var health = new CountryGraphHealthIndicator(countryGraphService).health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails())
+                .containsEntry("loadAttempts", 3L)
+                .containsEntry("lastError", "java.io.IOException: connection refused");
+    }
+
+    @Test
+    void shouldBeUpOncePublished() {
+        when(countryGraphService.loadStatus()).thenReturn(new CountryGraphService.LoadStatus(true, 1, null, 1, 250));
+
+        var health = new CountryGraphHealthIndicator(countryGraphService).health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails())
+                .containsEntry("generation", 1L)
+                .containsEntry("countries", 250)
+                .doesNotContainKey("lastError");
+    }
+}
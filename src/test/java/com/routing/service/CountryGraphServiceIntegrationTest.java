@@ -2,11 +2,15 @@
 package com.routing.service;
 
 import com.routing.exception.NoRouteException;
+import com.routing.graph.RouteMetric;
+import com.routing.model.RoutePair;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -18,6 +22,12 @@ class CountryGraphServiceIntegrationTest {
     @Autowired
     CountryGraphService countryGraphService;
 
+    @BeforeEach
+    void awaitGraph() throws InterruptedException {
+        // the dataset is loaded in the background after the context has started
+        assertThat(countryGraphService.awaitReady(Duration.ofSeconds(30))).isTrue();
+    }
+
     @Nested
     class LandRoutes {
 
@@ -74,6 +84,61 @@ class CountryGraphServiceIntegrationTest {
         }
     }
 
+    @Nested
+    class Constraints {
+
+        @Test
+        void germanyToItalyAvoidingAlpineCountries() {
+            var route = countryGraphService.findRoute("DEU", "ITA", List.of("AUT", "CHE"), List.of());
+            assertThat(route).isEqualTo(List.of("DEU", "FRA", "ITA"));
+        }
+
+        @Test
+        void czechToItalyThroughGermany() {
+            var route = countryGraphService.findRoute("CZE", "ITA", List.of(), List.of("DEU"));
+            assertThat(route).isEqualTo(List.of("CZE", "DEU", "AUT", "ITA"));
+        }
+    }
+
+    @Nested
+    class Identifiers {
+
+        @Test
+        void shouldAcceptMixedIdentifierTypes() {
+            assertThat(countryGraphService.findRoute("cz", "Italy")).isEqualTo(List.of("CZE", "AUT", "ITA"));
+            assertThat(countryGraphService.findRoute("203", "ita")).isEqualTo(List.of("CZE", "AUT", "ITA"));
+            assertThat(countryGraphService.findRoute("GER", "PORTUGAL")).isEqualTo(List.of("DEU", "FRA", "ESP", "PRT"));
+        }
+
+        @Test
+        void cca3ShouldWinOverAnotherCountrysCiocCode() {
+            // BRN is Brunei's cca3 and Bahrain's cioc code
+            assertThat(countryGraphService.findRoute("BRN", "Malaysia")).isEqualTo(List.of("BRN", "MYS"));
+        }
+
+        @Test
+        void constraintsShouldCompareCountriesNotSpellings() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> countryGraphService.findRoute("AUT", "ITA", List.of("Austria"), List.of()));
+        }
+    }
+
+    @Nested
+    class Distance {
+
+        @Test
+        void portugalToGermanyByDistance() {
+            var route = countryGraphService.findRoute("PRT", "DEU", List.of(), List.of(), RouteMetric.DISTANCE);
+            assertThat(route).isEqualTo(List.of("PRT", "ESP", "FRA", "DEU"));
+        }
+
+        @Test
+        void germanyToItalyAvoidingAlpineCountriesByDistance() {
+            var route = countryGraphService.findRoute("DEU", "ITA", List.of("AUT", "CHE"), List.of(), RouteMetric.DISTANCE);
+            assertThat(route).isEqualTo(List.of("DEU", "CZE", "SVK", "HUN", "SVN", "ITA"));
+        }
+    }
+
     @Nested
     class EdgeConditions {
 
@@ -99,4 +164,61 @@ class CountryGraphServiceIntegrationTest {
             assertThat(ex.getMessage()).contains("No land route");
         }
     }
+
+    @Nested
+    class Batch {
+
+        @Test
+        void shouldResolveEveryPairInRequestOrder() {
+            var results = countryGraphService.findRoutes(List.of(
+                    new RoutePair("CZE", "ITA"),
+                    new RoutePair("JPN", "KOR"),
+                    new RoutePair("CZE", "CZE"),
+                    new RoutePair("PRT", "DEU"),
+                    new RoutePair("CZE", "YYY"),
+                    new RoutePair("XXX", "DEU")
+            ));
+
+            assertThat(results).hasSize(6);
+            assertThat(results.get(0).route()).isEqualTo(List.of("CZE", "AUT", "ITA"));
+            assertThat(results.get(1).error()).contains("No land route");
+            assertThat(results.get(2).route()).containsExactly("CZE");
+            assertThat(results.get(3).route()).isEqualTo(List.of("PRT", "ESP", "FRA", "DEU"));
+            assertThat(results.get(4).error()).contains("Unknown country code");
+            assertThat(results.get(5).error()).contains("Unknown country code");
+        }
+
+        @Test
+        void shouldMatchSingleRouteQueries() {
+            var results = countryGraphService.findRoutes(List.of(new RoutePair("KAZ", "KOR")));
+            assertThat(results.get(0).route()).isEqualTo(countryGraphService.findRoute("KAZ", "KOR"));
+        }
+    }
+
+    @Nested
+    class RoutesFrom {
+
+        @Test
+        void treeShouldAgreeWithSingleRouteQueries() {
+            var tree = countryGraphService.findRoutesFrom("CZE", Integer.MAX_VALUE);
+            var graph = tree.graph();
+            assertThat(graph.codes(tree.pathTo(graph.idOf("ITA")))).isEqualTo(List.of("CZE", "AUT", "ITA"));
+            assertThat(tree.isReachable(graph.idOf("JPN"))).isFalse();
+        }
+
+        @Test
+        void shouldHonourHopLimit() {
+            var tree = countryGraphService.findRoutesFrom("CZE", 1);
+            var graph = tree.graph();
+            assertThat(tree.isReachable(graph.idOf("AUT"))).isTrue();
+            assertThat(tree.isReachable(graph.idOf("ITA"))).isFalse();
+        }
+
+        @Test
+        void unknownOriginThrows() {
+            var ex = assertThrows(NoRouteException.class,
+                    () -> countryGraphService.findRoutesFrom("XXX", 3));
+            assertThat(ex.getMessage()).contains("Unknown country code");
+        }
+    }
 }
@@ -0,0 +1,710 @@
+package com.routing.service;
+
+import com.routing.exception.GraphNotReadyException;
+import com.routing.exception.NoRouteException;
+import com.routing.graph.BorderGraph;
+import com.routing.graph.BorderGraphFile;
+import com.routing.graph.RouteMetric;
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+import com.routing.model.RoutePair;
+import com.routing.model.RouteResult;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CountryGraphServiceTest {
+
+    private static final List<Country> V1 = List.of(
+            new Country("CZE", List.of("AUT")),
+            new Country("AUT", List.of("CZE", "ITA")),
+            new Country("ITA", List.of("AUT"))
+    );
+
+    private static final List<Country> V2 = List.of(
+            new Country("CZE", List.of("AUT", "ITA")),
+            new Country("AUT", List.of("CZE", "ITA")),
+            new Country("ITA", List.of("AUT", "CZE"))
+    );
+
+    @Mock
+    private CountryDataClient dataClient;
+
+    private SimpleMeterRegistry registry;
+    private CountryGraphService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        service = newService(null);
+        when(dataClient.fetch()).thenReturn(V1);
+        service.init();
+        assertThat(service.awaitReady(Duration.ofSeconds(5))).isTrue();
+    }
+
+    private CountryGraphService newService(String snapshotPath) {
+        return newService(snapshotPath, new RouteCache(100));
+    }
+
+    private CountryGraphService newService(String snapshotPath, RouteCache routeCache) {
+        var routeCoalescer = new RouteCoalescer();
+        return new CountryGraphService(dataClient, routeCache, routeCoalescer,
+                new RouteMetrics(registry, routeCache, routeCoalescer), "bfs", snapshotPath, 100_000, Duration.ofSeconds(5),
+                Duration.ofMillis(1), Duration.ofMillis(10));
+    }
+
+    @Nested
+    class Metrics {
+
+        @Test
+        void shouldTimeRouteQueriesByOutcome() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("CZE", List.of("AUT")),
+                    new Country("AUT", List.of("CZE")),
+                    new Country("JPN", List.of())
+            )));
+            service.reload();
+
+            service.findRoute("CZE", "AUT");
+            service.findRoute("CZE", "CZE");
+            assertThatThrownBy(() -> service.findRoute("CZE", "JPN")).isInstanceOf(NoRouteException.class);
+            assertThatThrownBy(() -> service.findRoute("XXX", "AUT")).isInstanceOf(NoRouteException.class);
+
+            assertThat(routeTimer("found").count()).isEqualTo(2);
+            assertThat(routeTimer("no_route").count()).isEqualTo(1);
+            assertThat(routeTimer("unknown_code").count()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldRejectPairsInDifferentComponentsWithoutSearching() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("CZE", List.of("AUT")),
+                    new Country("AUT", List.of("CZE")),
+                    new Country("JPN", List.of())
+            )));
+            service.reload();
+
+            assertThatThrownBy(() -> service.findRoute("JPN", "CZE"))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("No land route found from 'JPN' to 'CZE'");
+            assertThat(registry.get("routing.search.expanded").summary().count()).isZero();
+        }
+
+        @Test
+        void shouldRecordSearchWorkOnlyWhenTheEngineRuns() {
+            service.findRoute("CZE", "ITA");
+            service.findRoute("CZE", "ITA");
+
+            var expanded = registry.get("routing.search.expanded").summary();
+            assertThat(expanded.count()).isEqualTo(1);
+            assertThat(expanded.totalAmount()).isEqualTo(2);
+            assertThat(registry.get("routing.search.frontier.peak").summary().max()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldRouteCacheMissesThroughTheCoalescer() {
+            service.findRoute("CZE", "ITA");
+            service.findRoute("CZE", "ITA");
+            service.findRoute("ITA", "CZE");
+
+            // the second query is a cache hit, the reversed pair a reverse hit; only the first searches
+            assertThat(registry.get("routing.coalesce.requests").tag("role", "leader").functionCounter().count())
+                    .isEqualTo(1);
+            assertThat(registry.get("routing.coalesce.inflight").gauge().value()).isZero();
+        }
+
+        @Test
+        void shouldTimeLoadsAndTrackTheLiveSnapshot() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.empty());
+
+            service.reload();
+
+            assertThat(registry.get("routing.graph.load").tag("source", "url").timer().count()).isEqualTo(1);
+            assertThat(registry.get("routing.graph.reload").tag("result", "unchanged").timer().count()).isEqualTo(1);
+            assertThat(registry.get("routing.graph.countries").gauge().value()).isEqualTo(3);
+            assertThat(registry.get("routing.graph.generation").gauge().value()).isEqualTo(1);
+        }
+
+        private Timer routeTimer(String outcome) {
+            return registry.get("routing.route").tag("outcome", outcome).timer();
+        }
+    }
+
+    @Nested
+    class Json {
+
+        @Test
+        void shouldEncodeRouteBody() {
+            var route = service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null);
+
+            assertThat(new String(route.json(), StandardCharsets.UTF_8)).isEqualTo("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}");
+        }
+
+        @Test
+        void shouldUseCodesOfReloadedSnapshot() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("CZE", List.of("SVK")),
+                    new Country("SVK", List.of("CZE"))
+            )));
+            service.reload();
+
+            var route = service.findRouteJson("CZE", "SVK", List.of(), List.of(), RouteMetric.HOPS, null);
+
+            assertThat(new String(route.json(), StandardCharsets.UTF_8)).isEqualTo("{\"route\":[\"CZE\",\"SVK\"]}");
+        }
+
+        @Test
+        void shouldPropagateRoutingErrors() {
+            assertThatThrownBy(() -> service.findRouteJson("CZE", "XXX", List.of(), List.of(), RouteMetric.HOPS, null))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("Unknown country code: 'XXX'");
+        }
+    }
+
+    @Nested
+    class Caching {
+
+        @Test
+        void shouldTagAnswerWithGraphVersionAndCanonicalPair() {
+            var route = service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null);
+
+            assertThat(route.notModified()).isFalse();
+            assertThat(route.eTag()).startsWith("W/\"").endsWith("-CZE-ITA\"");
+            assertThat(new String(route.json(), StandardCharsets.UTF_8)).isEqualTo("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}");
+        }
+
+        @Test
+        void shouldAnswerNotModifiedWithoutSearching() {
+            var eTag = service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null).eTag();
+
+            var route = service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, eTag);
+
+            assertThat(route.notModified()).isTrue();
+            assertThat(route.eTag()).isEqualTo(eTag);
+            assertThat(registry.get("routing.route").tag("outcome", "found").timer().count()).isEqualTo(1);
+            assertThat(registry.get("routing.route").tag("outcome", "not_modified").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldKeepTagAcrossReloadOfSameData() throws Exception {
+            var eTag = service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null).eTag();
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V1));
+            service.reload();
+
+            assertThat(service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, eTag).notModified())
+                    .isTrue();
+        }
+
+        @Test
+        void shouldSearchAgainOnceBordersChanged() throws Exception {
+            var eTag = service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, null).eTag();
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V2));
+            service.reload();
+
+            var route = service.findRouteJson("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS, eTag);
+
+            assertThat(route.notModified()).isFalse();
+            assertThat(route.eTag()).isNotEqualTo(eTag);
+            assertThat(new String(route.json(), StandardCharsets.UTF_8)).isEqualTo("{\"route\":[\"CZE\",\"ITA\"]}");
+        }
+
+        @Test
+        void shouldNotMatchAnyTagForPairWithoutLandRoute() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("FRA", List.of()),
+                    new Country("GBR", List.of())
+            )));
+            service.reload();
+
+            assertThatThrownBy(() -> service.findRouteJson("FRA", "GBR", List.of(), List.of(), RouteMetric.HOPS, "*"))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("No land route found from 'FRA' to 'GBR'");
+            assertThat(registry.get("routing.route").tag("outcome", "not_modified").timer().count()).isZero();
+        }
+
+        @Test
+        void shouldCheckConstraintsBeforeMatchingTag() {
+            var eTag = service.findRouteJson("CZE", "ITA", List.of(), List.of("AUT"), RouteMetric.HOPS, null).eTag();
+
+            assertThatThrownBy(() -> service.findRouteJson("CZE", "ITA", List.of("AUT"), List.of("AUT"),
+                    RouteMetric.HOPS, eTag + ", *"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cannot both avoid and pass through a country");
+        }
+
+        @Test
+        void shouldLeaveUnknownCountriesUntaggedAndFailAsUsual() {
+            assertThatThrownBy(() -> service.findRouteJson("CZE", "XXX", List.of(), List.of(), RouteMetric.HOPS, "*"))
+                    .isInstanceOf(NoRouteException.class);
+        }
+    }
+
+    @Nested
+    class Identifiers {
+
+        @BeforeEach
+        void useAliases() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("CZE", List.of("AUT"), null, List.of("CZ", "203", "Czechia")),
+                    new Country("AUT", List.of("CZE", "ITA"), null, List.of("AT", "040", "Austria")),
+                    new Country("ITA", List.of("AUT"), null, List.of("IT", "380", "Italy"))
+            )));
+            service.reload();
+        }
+
+        @Test
+        void shouldRouteBetweenAnyIdentifiersInCca3() {
+            assertThat(service.findRoute("cz", "Italy")).containsExactly("CZE", "AUT", "ITA");
+            assertThat(service.findRoute("czechia", "CZE")).containsExactly("CZE");
+        }
+
+        @Test
+        void shouldMatchConstraintsByCountry() {
+            assertThatThrownBy(() -> service.findRoute("CZ", "ITA", List.of("czechia"), List.of()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cannot avoid the origin or the destination");
+            assertThatThrownBy(() -> service.findRoute("CZE", "ITA", List.of("AT"), List.of("Austria")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cannot both avoid and pass through a country");
+        }
+
+        @Test
+        void shouldReportUnknownIdentifierAsGiven() {
+            assertThatThrownBy(() -> service.findRoute("Czechia", "Atlantis"))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("Unknown country code: 'Atlantis'");
+        }
+
+        @Test
+        void shouldReportBatchPairsAsGivenWhenOriginsShareACountry() {
+            var results = service.findRoutes(List.of(
+                    new RoutePair("CZ", "Italy"),
+                    new RoutePair("Atlantis", "ITA"),
+                    new RoutePair("czechia", "AT"),
+                    new RoutePair("Lemuria", "CZE")));
+
+            assertThat(results).containsExactly(
+                    RouteResult.found("CZ", "Italy", List.of("CZE", "AUT", "ITA")),
+                    RouteResult.failed("Atlantis", "ITA", "Unknown country code: 'Atlantis'"),
+                    RouteResult.found("czechia", "AT", List.of("CZE", "AUT")),
+                    RouteResult.failed("Lemuria", "CZE", "Unknown country code: 'Lemuria'"));
+        }
+    }
+
+    @Nested
+    class Constraints {
+
+        @BeforeEach
+        void useTriangle() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V2));
+            service.reload();
+        }
+
+        @Test
+        void shouldRouteAroundAvoidedCountry() {
+            assertThat(service.findRoute("CZE", "ITA", List.of(), List.of())).containsExactly("CZE", "ITA");
+            assertThat(service.findRoute("CZE", "ITA", List.of("AUT"), List.of())).containsExactly("CZE", "ITA");
+            assertThat(service.findRoute("CZE", "AUT", List.of("ITA"), List.of())).containsExactly("CZE", "AUT");
+        }
+
+        @Test
+        void shouldPassThroughViaCountries() {
+            assertThat(service.findRoute("CZE", "ITA", List.of(), List.of("AUT"))).containsExactly("CZE", "AUT", "ITA");
+        }
+
+        @Test
+        void shouldExplainWhenConstraintsLeaveNoRoute() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V1));
+            service.reload();
+
+            assertThatThrownBy(() -> service.findRoute("CZE", "ITA", List.of("AUT"), List.of()))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("No land route found from 'CZE' to 'ITA' with the given avoid/via constraints");
+        }
+
+        @Test
+        void shouldRejectContradictoryConstraints() {
+            assertThatThrownBy(() -> service.findRoute("CZE", "ITA", List.of("CZE"), List.of()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cannot avoid the origin or the destination");
+            assertThatThrownBy(() -> service.findRoute("CZE", "ITA", List.of("AUT"), List.of("AUT")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cannot both avoid and pass through a country");
+        }
+
+        @Test
+        void shouldRejectUnknownConstraintCodes() {
+            assertThatThrownBy(() -> service.findRoute("CZE", "ITA", List.of("XXX"), List.of()))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("Unknown country code: 'XXX'");
+        }
+    }
+
+    @Nested
+    class Distance {
+
+        @BeforeEach
+        void useCapitals() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("DEU", List.of("CHE", "AUT"), new Coordinates(52.52, 13.4)),
+                    new Country("CHE", List.of("DEU", "ITA"), new Coordinates(46.92, 7.47)),
+                    new Country("AUT", List.of("DEU", "ITA"), new Coordinates(48.2, 16.37)),
+                    new Country("ITA", List.of("AUT", "CHE", "XXX"), new Coordinates(41.9, 12.48)),
+                    new Country("XXX", List.of("ITA"))
+            )));
+            service.reload();
+        }
+
+        @Test
+        void shouldMinimiseDistanceInsteadOfHops() {
+            // both routes have two hops; BFS takes the first listed, A* the shorter one
+            assertThat(service.findRoute("DEU", "ITA")).containsExactly("DEU", "CHE", "ITA");
+            assertThat(service.findRoute("DEU", "ITA", List.of(), List.of(), RouteMetric.DISTANCE))
+                    .containsExactly("DEU", "AUT", "ITA");
+        }
+
+        @Test
+        void shouldBypassRouteCache() {
+            service.findRoute("DEU", "ITA", List.of(), List.of(), RouteMetric.DISTANCE);
+            service.findRoute("DEU", "ITA", List.of(), List.of(), RouteMetric.DISTANCE);
+
+            assertThat(registry.get("routing.search.expanded").summary().count()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldNotRouteToCountryWithoutPosition() {
+            assertThat(service.findRoute("DEU", "XXX")).containsExactly("DEU", "CHE", "ITA", "XXX");
+            assertThatThrownBy(() -> service.findRoute("DEU", "XXX", List.of(), List.of(), RouteMetric.DISTANCE))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("No land route found from 'DEU' to 'XXX'");
+        }
+    }
+
+    @Nested
+    class HopMatrix {
+
+        @Test
+        void shouldComputeEveryPair() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("CZE", List.of("AUT")),
+                    new Country("AUT", List.of("CZE", "ITA")),
+                    new Country("ITA", List.of("AUT")),
+                    new Country("JPN", List.of())
+            )));
+            service.reload();
+
+            var matrix = service.findHopMatrix(List.of("CZE", "JPN"), List.of("ITA", "CZE", "JPN"));
+
+            assertThat(matrix.origins()).containsExactly("CZE", "JPN");
+            assertThat(matrix.destinations()).containsExactly("ITA", "CZE", "JPN");
+            assertThat(matrix.hops()).containsExactly(List.of(2, 0, -1), List.of(-1, -1, 0));
+        }
+
+        @Test
+        void shouldRejectUnknownCode() {
+            assertThatThrownBy(() -> service.findHopMatrix(List.of("CZE"), List.of("ITA", "XXX")))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("Unknown country code: 'XXX'");
+        }
+
+        @Test
+        void shouldRejectOversizedMatrix() {
+            var codes = Collections.nCopies(1000, "CZE");
+            assertThatThrownBy(() -> service.findHopMatrix(codes, codes))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("matrix should have at most 100000 cells");
+        }
+    }
+
+    @Nested
+    class Batch {
+
+        @Test
+        void shouldRejectOversizedBatch() {
+            var pairs = Collections.nCopies(10_001, new RoutePair("CZE", "ITA"));
+            assertThatThrownBy(() -> service.findRoutes(pairs))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("batch should have at most 10000 pairs");
+        }
+    }
+
+    @Nested
+    class Alternatives {
+
+        @Test
+        void shouldListRoutesFewestCrossingsFirst() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V2));
+            service.reload();
+
+            var alternatives = service.findAlternatives("CZE", "ITA", 3);
+
+            assertThat(alternatives.routes()).containsExactly(List.of("CZE", "ITA"), List.of("CZE", "AUT", "ITA"));
+            assertThat(alternatives.truncated()).isFalse();
+        }
+
+        @Test
+        void shouldRejectKOutOfRange() {
+            assertThatThrownBy(() -> service.findAlternatives("CZE", "ITA", 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("k should be between 1 and 10");
+            assertThatThrownBy(() -> service.findAlternatives("CZE", "ITA", CountryGraphService.MAX_ALTERNATIVES + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void shouldRejectUnknownCodeAndMissingRoute() throws Exception {
+            assertThatThrownBy(() -> service.findAlternatives("XXX", "ITA", 3))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("Unknown country code: 'XXX'");
+
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(List.of(
+                    new Country("CZE", List.of()),
+                    new Country("JPN", List.of())
+            )));
+            service.reload();
+            assertThatThrownBy(() -> service.findAlternatives("CZE", "JPN", 3))
+                    .isInstanceOf(NoRouteException.class)
+                    .hasMessage("No land route found from 'CZE' to 'JPN'");
+        }
+
+        @Test
+        void shouldReportTruncationRatherThanNoRouteWhenBudgetRunsOutFirst() throws Exception {
+            var routeCache = new RouteCache(100);
+            var routeCoalescer = new RouteCoalescer();
+            var starved = new CountryGraphService(dataClient, routeCache, routeCoalescer,
+                    new RouteMetrics(registry, routeCache, routeCoalescer), "bfs", null, 1,
+                    Duration.ofSeconds(5), Duration.ofMillis(1), Duration.ofMillis(10));
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V1));
+            starved.reload();
+
+            var alternatives = starved.findAlternatives("CZE", "ITA", 3);
+
+            assertThat(alternatives.routes()).isEmpty();
+            assertThat(alternatives.truncated()).isTrue();
+        }
+    }
+
+    @Nested
+    class Reload {
+
+        @Test
+        void shouldKeepSnapshotWhenDataIsNotModified() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.empty());
+
+            var result = service.reload();
+
+            assertThat(result.changed()).isFalse();
+            assertThat(result.generation()).isEqualTo(1);
+            assertThat(service.reloadStats().unchanged()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldPublishNewSnapshotWhenDataChanged() throws Exception {
+            assertThat(service.findRoute("CZE", "ITA")).containsExactly("CZE", "AUT", "ITA");
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V2));
+
+            var result = service.reload();
+
+            assertThat(result.changed()).isTrue();
+            assertThat(result.generation()).isEqualTo(2);
+            assertThat(result.countries()).isEqualTo(3);
+            // the cached route of generation 1 must not leak into generation 2
+            assertThat(service.findRoute("CZE", "ITA")).containsExactly("CZE", "ITA");
+        }
+
+        @Test
+        void shouldKeepGenerationWhenRoutingContentIsUnchanged() throws Exception {
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V1));
+
+            var result = service.reload();
+
+            assertThat(result.changed()).isFalse();
+            assertThat(result.generation()).isEqualTo(1);
+            assertThat(service.reloadStats().unchanged()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldCarryForwardCachedRoutesTheChangeLeavesValid() throws Exception {
+            service.findRoute("CZE", "AUT");
+            service.findRoute("CZE", "ITA");
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V2));
+
+            service.reload();
+
+            // the new CZE-ITA border cannot shorten CZE-AUT, but does undercut CZE-AUT-ITA
+            assertThat(service.findRoute("CZE", "AUT")).containsExactly("CZE", "AUT");
+            assertThat(service.findRoute("CZE", "ITA")).containsExactly("CZE", "ITA");
+            assertThat(registry.get("routing.search.expanded").summary().count()).isEqualTo(3);
+        }
+
+        @Test
+        void shouldCarryForwardBeforeLookupsReachTheNewGeneration() throws Exception {
+            var carried = new AtomicInteger();
+            service = newService(null, new RouteCache(100) {
+                @Override
+                public int carryForward(long from, long to, RouteFilter filter) {
+                    // lookups racing the reload, on either side of the carry-forward
+                    assertThat(service.findRoute("CZE", "AUT")).containsExactly("CZE", "AUT");
+                    carried.set(super.carryForward(from, to, filter));
+                    assertThat(service.findRoute("CZE", "AUT")).containsExactly("CZE", "AUT");
+                    return carried.get();
+                }
+            });
+            service.init();
+            assertThat(service.awaitReady(Duration.ofSeconds(5))).isTrue();
+            service.findRoute("CZE", "AUT");
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V2));
+
+            service.reload();
+
+            assertThat(carried).hasValue(1);
+            assertThat(service.findRoute("CZE", "AUT")).containsExactly("CZE", "AUT");
+            // the first search, and the one lookup still on generation 1 after its entry moved on
+            assertThat(registry.get("routing.search.expanded").summary().count()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldCountFailuresAndKeepServing() throws Exception {
+            when(dataClient.fetchIfModified()).thenThrow(new IOException("connection reset"));
+
+            assertThatThrownBy(() -> service.reload()).isInstanceOf(IOException.class);
+
+            assertThat(service.reloadStats().failures()).isEqualTo(1);
+            assertThat(service.findRoute("CZE", "ITA")).containsExactly("CZE", "AUT", "ITA");
+        }
+    }
+
+    @Nested
+    class Startup {
+
+        @Test
+        void shouldRefuseQueriesWithRetryAfterUntilLoaded() {
+            var notLoaded = newService(null);
+
+            assertThat(notLoaded.isReady()).isFalse();
+            assertThatThrownBy(() -> notLoaded.findRoute("CZE", "ITA"))
+                    .isInstanceOfSatisfying(GraphNotReadyException.class, e ->
+                            assertThat(e.getRetryAfter()).isGreaterThanOrEqualTo(Duration.ofSeconds(1)))
+                    .hasMessage("Country data is still loading");
+        }
+
+        @Test
+        void shouldRetryFailedLoadsUntilOneSucceeds() {
+            var retrying = newService(null);
+            when(dataClient.fetch())
+                    .thenThrow(new IOException("connection reset"))
+                    .thenThrow(new IOException("connection reset"))
+                    .thenReturn(V2);
+
+            retrying.loadWithRetry();
+
+            assertThat(retrying.loadStatus()).isEqualTo(new CountryGraphService.LoadStatus(true, 3, null, 1, 3));
+            assertThat(retrying.findRoute("CZE", "ITA")).containsExactly("CZE", "ITA");
+        }
+
+        @Test
+        void shouldReportLastFailureWhileRetrying() throws Exception {
+            var failing = newService(null);
+            when(dataClient.fetch()).thenThrow(new IOException("connection refused"));
+
+            failing.init();
+            Thread.sleep(50);
+            var status = failing.loadStatus();
+            failing.shutdown();
+
+            assertThat(status.ready()).isFalse();
+            assertThat(status.attempts()).isGreaterThan(1);
+            assertThat(status.lastError()).isEqualTo("java.io.IOException: connection refused");
+            assertThat(failing.awaitReady(Duration.ofMillis(1))).isFalse();
+        }
+
+        @Test
+        void shouldBecomeReadyThroughReloadBeforeLoaderSucceeds() throws Exception {
+            var reloaded = newService(null);
+            when(dataClient.fetchIfModified()).thenReturn(Optional.of(V2));
+
+            reloaded.reload();
+
+            assertThat(reloaded.isReady()).isTrue();
+            reloaded.loadWithRetry();
+            assertThat(reloaded.loadStatus().generation()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldFailFastOnUnknownEngine() {
+            var routeCache = new RouteCache(100);
+            var routeCoalescer = new RouteCoalescer();
+
+            assertThatThrownBy(() -> new CountryGraphService(dataClient, routeCache, routeCoalescer,
+                    new RouteMetrics(registry, routeCache, routeCoalescer), "tabel", null, 100_000,
+                    Duration.ofSeconds(5), Duration.ofMillis(1), Duration.ofMillis(10)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Unknown route engine 'tabel', expected one of [bfs, bidirectional, table]");
+        }
+    }
+
+    @Nested
+    class SnapshotFile {
+
+        @TempDir
+        Path dir;
+
+        @Test
+        void shouldWriteSnapshotAfterLoadingFromUrl() throws Exception {
+            var path = dir.resolve("graph.bin");
+            var withFile = newService(path.toString());
+
+            withFile.init();
+
+            assertThat(withFile.awaitReady(Duration.ofSeconds(5))).isTrue();
+            assertThat(BorderGraphFile.read(path).size()).isEqualTo(3);
+        }
+
+        @Test
+        void shouldServeFromSnapshotWhenUpstreamIsDown() throws Exception {
+            var path = dir.resolve("graph.bin");
+            BorderGraphFile.write(BorderGraph.of(V2), path);
+            lenient().when(dataClient.fetchIfModified()).thenThrow(new IOException("connection refused"));
+            var withFile = newService(path.toString());
+
+            withFile.init();
+
+            assertThat(withFile.findRoute("CZE", "ITA")).containsExactly("CZE", "ITA");
+        }
+
+        @Test
+        void shouldFallBackToUrlWhenSnapshotIsCorrupt() throws Exception {
+            var path = dir.resolve("graph.bin");
+            Files.writeString(path, "not a snapshot");
+            var withFile = newService(path.toString());
+
+            withFile.init();
+
+            assertThat(withFile.awaitReady(Duration.ofSeconds(5))).isTrue();
+            assertThat(withFile.findRoute("CZE", "ITA")).containsExactly("CZE", "AUT", "ITA");
+            assertThat(BorderGraphFile.read(path).size()).isEqualTo(3);
+        }
+    }
+}
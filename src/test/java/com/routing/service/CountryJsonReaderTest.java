@@ -0,0 +1,143 @@
+package com.routing.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.routing.model.Coordinates;
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountryJsonReaderTest {
+
+    private final CountryJsonReader reader = new CountryJsonReader(new JsonFactory());
+
+    private static InputStream json(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    class Extraction {
+
+        @Test
+        void shouldKeepOnlyCodeBordersPositionAndIdentifiers() throws Exception {
+            var countries = reader.read(json("""
+                    [{
+                      "name": {"common": "Czechia", "nativeName": {"ces": {"official": "Česká republika"}}},
+                      "tld": [".cz"],
+                      "cca3": "CZE",
+                      "currencies": {"CZK": {"name": "Czech koruna", "symbol": "Kč"}},
+                      "latlng": [49.75, 15.5],
+                      "borders": ["AUT", "DEU", "POL", "SVK"],
+                      "area": 78865.0,
+                      "independent": true
+                    }]
+                    """));
+
+            assertThat(countries).containsExactly(new Country(
+                    "CZE", List.of("AUT", "DEU", "POL", "SVK"), new Coordinates(49.75, 15.5), List.of("Czechia")));
+        }
+
+        @Test
+        void shouldReadOtherIdentifiersAsAliases() throws Exception {
+            var countries = reader.read(json("""
+                    [{
+                      "name": {"official": "Kingdom of Bahrain", "common": "Bahrain"},
+                      "cca2": "BH",
+                      "ccn3": "048",
+                      "cca3": "BHR",
+                      "cioc": "BRN"
+                    }, {
+                      "cca3": "ATA",
+                      "cca2": "AQ",
+                      "ccn3": null,
+                      "name": "Antarctica"
+                    }]
+                    """));
+
+            assertThat(countries).extracting(Country::aliases).containsExactly(
+                    List.of("BH", "048", "BRN", "Bahrain"),
+                    List.of("AQ"));
+        }
+
+        @Test
+        void shouldPreferCapitalPositionOverCountryCentre() throws Exception {
+            var countries = reader.read(json("""
+                    [{
+                      "cca3": "CZE",
+                      "latlng": [49.75, 15.5],
+                      "capitalInfo": {"latlng": [50.08, 14.43]}
+                    }, {
+                      "cca3": "ATA",
+                      "latlng": [-90, 0],
+                      "capitalInfo": {}
+                    }, {
+                      "cca3": "XXX",
+                      "latlng": ["north", 0],
+                      "capitalInfo": {"latlng": [91, 0]}
+                    }]
+                    """));
+
+            assertThat(countries).extracting(Country::capital).containsExactly(
+                    new Coordinates(50.08, 14.43),
+                    new Coordinates(-90, 0),
+                    null);
+        }
+
+        @Test
+        void shouldDefaultMissingOrNullBordersToEmpty() throws Exception {
+            var countries = reader.read(json("""
+                    [{"cca3": "JPN"}, {"borders": null, "cca3": "ISL"}]
+                    """));
+
+            assertThat(countries).extracting(Country::cca3).containsExactly("JPN", "ISL");
+            assertThat(countries).allSatisfy(country -> assertThat(country.borders()).isEmpty());
+        }
+
+        @Test
+        void shouldReadEmptyArray() throws Exception {
+            assertThat(reader.read(json("[]"))).isEmpty();
+        }
+    }
+
+    @Nested
+    class Streaming {
+
+        @Test
+        void shouldHandCountriesToSinkInDocumentOrder() throws Exception {
+            var seen = new ArrayList<String>();
+
+            reader.read(json("""
+                    [{"cca3": "AUT"}, {"cca3": "CZE"}, {"cca3": "DEU"}]
+                    """), country -> seen.add(country.cca3()));
+
+            assertThat(seen).containsExactly("AUT", "CZE", "DEU");
+        }
+    }
+
+    @Nested
+    class Errors {
+
+        @Test
+        void shouldRejectNonArrayDocument() {
+            assertThatThrownBy(() -> reader.read(json("{\\"cca3\\": \\"CZE\\"}")))
+                    .isInstanceOf(JsonParseException.class)
+                    .hasMessageContaining("Expected a JSON array of countries");
+        }
+
+        @Test
+        void shouldRejectCountryWithoutCode() {
+            assertThatThrownBy(() -> reader.read(json("[{\\"borders\\": []}]")))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessageContaining("cca3 should not be null");
+        }
+    }
+}
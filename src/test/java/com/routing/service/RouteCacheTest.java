@@ -0,0 +1,152 @@
+package com.routing.service;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteCacheTest {
+
+    private static final List<String> ROUTE = List.of("CZE", "AUT", "ITA");
+
+    @Nested
+    class Lookup {
+
+        @Test
+        void shouldReturnCachedRouteForSameGeneration() {
+            var cache = new RouteCache(100);
+            cache.put(1, 0, 2, ROUTE);
+
+            var entry = cache.get(1, 0, 2, false);
+
+            assertThat(entry).isNotNull();
+            assertThat(entry.route()).isSameAs(ROUTE);
+            assertThat(cache.stats().hits()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldCacheNegativeResults() {
+            var cache = new RouteCache(100);
+            cache.put(1, 3, 4, null);
+
+            var entry = cache.get(1, 3, 4, false);
+
+            assertThat(entry).isNotNull();
+            assertThat(entry.isNoRoute()).isTrue();
+        }
+
+        @Test
+        void shouldMissOnUnknownPair() {
+            var cache = new RouteCache(100);
+
+            assertThat(cache.get(1, 0, 2, false)).isNull();
+            assertThat(cache.stats().misses()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldNeverHitWhenDisabled() {
+            var cache = new RouteCache(0);
+            cache.put(1, 0, 2, ROUTE);
+
+            assertThat(cache.get(1, 0, 2, false)).isNull();
+            assertThat(cache.stats().size()).isZero();
+        }
+    }
+
+    @Nested
+    class Generations {
+
+        @Test
+        void newerGenerationShouldInvalidateEntry() {
+            var cache = new RouteCache(100);
+            cache.put(1, 0, 2, ROUTE);
+
+            assertThat(cache.get(2, 0, 2, false)).isNull();
+            assertThat(cache.stats().size()).isZero();
+        }
+
+        @Test
+        void shouldCarryForwardOnlyAcceptedEntriesOfThePreviousGeneration() {
+            var cache = new RouteCache(100);
+            cache.put(1, 0, 2, ROUTE);
+            cache.put(1, 3, 4, null);
+            cache.put(1, 5, 6, ROUTE);
+            cache.put(0, 7, 8, ROUTE);
+
+            int carried = cache.carryForward(1, 2, (origin, destination, route) -> origin != 5);
+
+            assertThat(carried).isEqualTo(2);
+            assertThat(cache.stats().size()).isEqualTo(2);
+            assertThat(cache.get(2, 0, 2, false).route()).isSameAs(ROUTE);
+            assertThat(cache.get(2, 3, 4, false).isNoRoute()).isTrue();
+            assertThat(cache.get(2, 5, 6, false)).isNull();
+        }
+
+        @Test
+        void shouldKeepCarriedEntryWhenLookedUpOnThePreviousGeneration() {
+            var cache = new RouteCache(100);
+            cache.put(1, 0, 2, ROUTE);
+            cache.carryForward(1, 2, (origin, destination, route) -> true);
+
+            assertThat(cache.get(1, 0, 2, false)).isNull();
+            cache.put(1, 0, 2, List.of("CZE", "DEU", "AUT", "ITA"));
+
+            assertThat(cache.get(2, 0, 2, false).route()).isSameAs(ROUTE);
+        }
+    }
+
+    @Nested
+    class ReverseRoutes {
+
+        @Test
+        void shouldServeReversedRouteWhenGraphIsSymmetric() {
+            var cache = new RouteCache(100);
+            cache.put(1, 0, 2, ROUTE);
+
+            var entry = cache.get(1, 2, 0, true);
+
+            assertThat(entry).isNotNull();
+            assertThat(entry.route()).containsExactly("ITA", "AUT", "CZE");
+            assertThat(cache.stats().reverseHits()).isEqualTo(1);
+            assertThat(cache.get(1, 2, 0, false)).isNotNull();
+        }
+
+        @Test
+        void shouldNotReverseWhenGraphIsAsymmetric() {
+            var cache = new RouteCache(100);
+            cache.put(1, 0, 2, ROUTE);
+
+            assertThat(cache.get(1, 2, 0, false)).isNull();
+        }
+
+        @Test
+        void shouldReuseNegativeResultInReverse() {
+            var cache = new RouteCache(100);
+            cache.put(1, 0, 2, null);
+
+            var entry = cache.get(1, 2, 0, true);
+
+            assertThat(entry).isNotNull();
+            assertThat(entry.isNoRoute()).isTrue();
+        }
+    }
+
+    @Nested
+    class Eviction {
+
+        @Test
+        void shouldEvictLeastRecentlyUsedEntryWhenSegmentIsFull() {
+            // capacity 16 over 16 segments: one entry per segment
+            var cache = new RouteCache(16);
+            // (0,0) and (0,16) hash to the same segment
+            cache.put(1, 0, 0, ROUTE);
+            cache.put(1, 0, 16, ROUTE);
+
+            assertThat(cache.get(1, 0, 0, false)).isNull();
+            assertThat(cache.get(1, 0, 16, false)).isNotNull();
+            assertThat(cache.stats().evictions()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.routing.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteCoalescerTest {
+
+    private static final List<String> ROUTE = List.of("CZE", "AUT", "ITA");
+    private static final int FOLLOWERS = 20;
+
+    private final RouteCoalescer coalescer = new RouteCoalescer();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start a leader whose search blocks on {@code release}, then {@link #FOLLOWERS}
+     * callers for the same key; returns once all of them are waiting on the leader.
+     */
+    private List<Future<List<String>>> startConcurrentCalls(CountDownLatch release, AtomicInteger searches,
+                                                            RuntimeException failure) throws Exception {
+        var started = new CountDownLatch(1);
+        var futures = new ArrayList<Future<List<String>>>();
+        futures.add(executor.submit(() -> coalescer.execute(1, 0, 2, () -> {
+            searches.incrementAndGet();
+            started.countDown();
+            await(release);
+            if (failure != null) {
+                throw failure;
+            }
+            return ROUTE;
+        })));
+        started.await();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            futures.add(executor.submit(() -> coalescer.execute(1, 0, 2, () -> {
+                searches.incrementAndGet();
+                return ROUTE;
+            })));
+        }
+        while (coalescer.stats().followers() < FOLLOWERS) {
+            Thread.onSpinWait();
+        }
+        return futures;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    class Coalescing {
+
+        @Test
+        void concurrentCallersShouldShareOneSearch() throws Exception {
+            var release = new CountDownLatch(1);
+            var searches = new AtomicInteger();
+
+            var calls = startConcurrentCalls(release, searches, null);
+            release.countDown();
+
+            for (var future : calls) {
+                assertThat(future.get()).isSameAs(ROUTE);
+            }
+            assertThat(searches.get()).isEqualTo(1);
+            assertThat(coalescer.stats()).isEqualTo(new RouteCoalescer.Stats(1, FOLLOWERS, 0));
+        }
+
+        @Test
+        void followersShouldGetTheLeadersException() throws Exception {
+            var release = new CountDownLatch(1);
+            var failure = new IllegalStateException("Route engine failed");
+
+            var calls = startConcurrentCalls(release, new AtomicInteger(), failure);
+            release.countDown();
+
+            for (var future : calls) {
+                assertThatThrownBy(future::get)
+                        .isInstanceOf(ExecutionException.class)
+                        .cause().isSameAs(failure);
+            }
+        }
+    }
+
+    @Nested
+    class Keys {
+
+        @Test
+        void completedSearchShouldNotBeReused() {
+            var searches = new AtomicInteger();
+
+            coalescer.execute(1, 0, 2, () -> List.of(String.valueOf(searches.incrementAndGet())));
+            var second = coalescer.execute(1, 0, 2, () -> List.of(String.valueOf(searches.incrementAndGet())));
+
+            assertThat(second).containsExactly("2");
+            assertThat(coalescer.stats()).isEqualTo(new RouteCoalescer.Stats(2, 0, 0));
+        }
+
+        @Test
+        void shouldShareNoRouteAnswer() {
+            assertThat(coalescer.execute(1, 0, 2, () -> null)).isNull();
+        }
+
+        @Test
+        void shouldKeepGenerationsAndDirectionsApart() throws Exception {
+            var release = new CountDownLatch(1);
+            var blocked = executor.submit(() -> coalescer.execute(1, 0, 2, () -> {
+                await(release);
+                return ROUTE;
+            }));
+            while (coalescer.stats().inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThat(coalescer.execute(2, 0, 2, () -> List.of("new"))).containsExactly("new");
+            assertThat(coalescer.execute(1, 2, 0, () -> List.of("reverse"))).containsExactly("reverse");
+
+            release.countDown();
+            assertThat(blocked.get()).isSameAs(ROUTE);
+            assertThat(coalescer.stats().followers()).isZero();
+        }
+    }
+}
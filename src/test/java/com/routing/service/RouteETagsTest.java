@@ -0,0 +1,89 @@
+package com.routing.service;
+
+import com.routing.graph.BorderGraph;
+import com.routing.graph.RouteMetric;
+import com.routing.model.Country;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteETagsTest {
+
+    private final BorderGraph graph = BorderGraph.of(List.of(
+            new Country("CZE", List.of("AUT"), null, List.of("CZ", "Czechia")),
+            new Country("AUT", List.of("CZE", "ITA", "DEU")),
+            new Country("DEU", List.of("AUT")),
+            new Country("ITA", List.of("AUT"))
+    ));
+
+    private String tag(String origin, String destination, List<String> avoid, List<String> via, RouteMetric metric) {
+        return RouteETags.of(graph, origin, destination, avoid, via, metric);
+    }
+
+    @Nested
+    class Of {
+
+        @Test
+        void shouldCombineGraphVersionAndCanonicalPair() {
+            assertThat(tag("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS))
+                    .isEqualTo("W/\"%016x-CZE-ITA\"".formatted(graph.version()));
+        }
+
+        @Test
+        void shouldBeTheSameForEveryIdentifierOfACountry() {
+            assertThat(tag("czechia", "ita", List.of(), List.of(), RouteMetric.HOPS))
+                    .isEqualTo(tag("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS));
+        }
+
+        @Test
+        void shouldDistinguishMetricAndConstraints() {
+            var plain = tag("CZE", "ITA", List.of(), List.of(), RouteMetric.HOPS);
+            var distance = tag("CZE", "ITA", List.of(), List.of(), RouteMetric.DISTANCE);
+            var avoiding = tag("CZE", "ITA", List.of("DEU"), List.of(), RouteMetric.HOPS);
+            var passing = tag("CZE", "ITA", List.of(), List.of("DEU"), RouteMetric.HOPS);
+
+            assertThat(List.of(plain, distance, avoiding, passing)).doesNotHaveDuplicates();
+            assertThat(distance).endsWith("-distance\"");
+        }
+
+        @Test
+        void shouldTreatAvoidAsASet() {
+            assertThat(tag("CZE", "ITA", List.of("DEU", "DEU"), List.of(), RouteMetric.HOPS))
+                    .isEqualTo(tag("CZE", "ITA", List.of("DEU"), List.of(), RouteMetric.HOPS));
+        }
+
+        @Test
+        void shouldBeNullWhenACountryDoesNotResolve() {
+            assertThat(tag("CZE", "XXX", List.of(), List.of(), RouteMetric.HOPS)).isNull();
+            assertThat(tag("CZE", "ITA", List.of("XXX"), List.of(), RouteMetric.HOPS)).isNull();
+        }
+    }
+
+    @Nested
+    class Matches {
+
+        private final String eTag = "W/\"00000000000000ff-CZE-ITA\"";
+
+        @Test
+        void shouldCompareWeakly() {
+            assertThat(RouteETags.matches(eTag, eTag)).isTrue();
+            assertThat(RouteETags.matches("\"00000000000000ff-CZE-ITA\"", eTag)).isTrue();
+        }
+
+        @Test
+        void shouldMatchAnyTagOfAListOrAWildcard() {
+            assertThat(RouteETags.matches("\"other\", W/\"00000000000000ff-CZE-ITA\"", eTag)).isTrue();
+            assertThat(RouteETags.matches("*", eTag)).isTrue();
+        }
+
+        @Test
+        void shouldNotMatchOtherOrMissingTags() {
+            assertThat(RouteETags.matches("W/\"00000000000000fe-CZE-ITA\"", eTag)).isFalse();
+            assertThat(RouteETags.matches(null, eTag)).isFalse();
+            assertThat(RouteETags.matches("*", null)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.routing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routing.graph.BorderGraph;
+import com.routing.model.Country;
+import com.routing.model.RouteResponse;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteJsonTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final RouteJson json = new RouteJson(BorderGraph.of(List.of(
+            new Country("CZE", List.of("AUT")),
+            new Country("AUT", List.of("CZE", "ITA")),
+            new Country("ITA", List.of("AUT"))
+    )));
+
+    private static String text(byte[] body) {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    class Route {
+
+        @Test
+        void shouldWriteRouteFromPreEncodedCodes() {
+            assertThat(text(json.route(List.of("CZE", "AUT", "ITA")))).isEqualTo("{\"route\":[\"CZE\",\"AUT\",\"ITA\"]}");
+            assertThat(text(json.route(List.of("CZE")))).isEqualTo("{\"route\":[\"CZE\"]}");
+        }
+
+        @Test
+        void shouldWriteRouteFromNodeIds() {
+            // CZE, AUT and ITA are interned as 0, 1 and 2
+            assertThat(text(json.route(new int[] {2, 1, 0}))).isEqualTo("{\"route\":[\"ITA\",\"AUT\",\"CZE\"]}");
+            assertThat(json.route(new int[] {0, 1})).isEqualTo(json.route(List.of("CZE", "AUT")));
+        }
+
+        @Test
+        void shouldMatchJacksonSerialisationOfRouteResponse() throws Exception {
+            var route = List.of("ITA", "AUT", "CZE");
+
+            assertThat(json.route(route)).isEqualTo(MAPPER.writeValueAsBytes(new RouteResponse(route)));
+        }
+
+        @Test
+        void shouldEncodeCodesMissingFromSnapshot() {
+            // a route computed on a previous snapshot may name a country this one no longer has
+            assertThat(text(json.route(List.of("AUT", "X\"Y")))).isEqualTo("{\"route\":[\"AUT\",\"X\\\"Y\"]}");
+        }
+    }
+
+    @Nested
+    class ErrorBody {
+
+        @Test
+        void shouldWriteErrorBody() {
+            assertThat(text(RouteJson.error("Unknown country code: 'XXX'")))
+                    .isEqualTo("{\"error\":\"Unknown country code: 'XXX'\"}");
+        }
+
+        @Test
+        void shouldEscapeMessage() throws Exception {
+            var message = "Unknown country code: 'a\"b\\c\né🌍'";
+
+            var body = MAPPER.readTree(RouteJson.error(message));
+
+            assertThat(body.get("error").asText()).isEqualTo(message);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.routing.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RouteCache routeCache = new RouteCache(100);
+    private final RouteCoalescer routeCoalescer = new RouteCoalescer();
+    private final RouteMetrics metrics = new RouteMetrics(registry, routeCache, routeCoalescer);
+
+    @Nested
+    class Routes {
+
+        @Test
+        void shouldRegisterOneTimerPerOutcomeUpFront() {
+            assertThat(registry.get("routing.route").timers()).hasSize(4);
+        }
+
+        @Test
+        void shouldRecordLatencyUnderOutcomeTag() {
+            metrics.recordRoute(RouteMetrics.Outcome.NO_ROUTE, 2_000_000);
+
+            var timer = registry.get("routing.route").tag("outcome", "no_route").timer();
+            assertThat(timer.count()).isEqualTo(1);
+            assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+            assertThat(registry.get("routing.route").tag("outcome", "found").timer().count()).isZero();
+        }
+
+        @Test
+        void shouldRecordSearchWork() {
+            metrics.searched(10, 4);
+            metrics.searched(30, 8);
+
+            var expanded = registry.get("routing.search.expanded").summary();
+            assertThat(expanded.count()).isEqualTo(2);
+            assertThat(expanded.totalAmount()).isEqualTo(40);
+            assertThat(registry.get("routing.search.frontier.peak").summary().max()).isEqualTo(8);
+        }
+    }
+
+    @Nested
+    class Graph {
+
+        @Test
+        void shouldRecordLoadAndReloadTimings() {
+            metrics.recordLoad(RouteMetrics.LoadSource.FILE, 1_000_000);
+            metrics.recordReload(RouteMetrics.ReloadOutcome.FAILED, 1_000_000);
+
+            assertThat(registry.get("routing.graph.load").tag("source", "file").timer().count()).isEqualTo(1);
+            assertThat(registry.get("routing.graph.reload").tag("result", "failed").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldExposeLiveSnapshot() {
+            metrics.published(7, 250);
+
+            assertThat(registry.get("routing.graph.generation").gauge().value()).isEqualTo(7);
+            assertThat(registry.get("routing.graph.countries").gauge().value()).isEqualTo(250);
+        }
+    }
+
+    @Nested
+    class Cache {
+
+        @Test
+        void shouldBindCacheCounters() {
+            routeCache.get(1, 0, 1, false);
+            routeCache.put(1, 0, 1, List.of("CZE", "AUT"));
+            routeCache.get(1, 0, 1, false);
+
+            assertThat(registry.get("routing.cache.requests").tag("result", "hit").functionCounter().count())
+                    .isEqualTo(1);
+            assertThat(registry.get("routing.cache.requests").tag("result", "miss").functionCounter().count())
+                    .isEqualTo(1);
+            assertThat(registry.get("routing.cache.size").gauge().value()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class Coalescing {
+
+        @Test
+        void shouldBindCoalescerCounters() {
+            routeCoalescer.execute(1, 0, 1, () -> List.of("CZE", "AUT"));
+            routeCoalescer.execute(1, 0, 1, () -> List.of("CZE", "AUT"));
+
+            assertThat(registry.get("routing.coalesce.requests").tag("role", "leader").functionCounter().count())
+                    .isEqualTo(2);
+            assertThat(registry.get("routing.coalesce.requests").tag("role", "follower").functionCounter().count())
+                    .isZero();
+            assertThat(registry.get("routing.coalesce.inflight").gauge().value()).isZero();
+        }
+    }
+}